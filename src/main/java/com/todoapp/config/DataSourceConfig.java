@@ -0,0 +1,120 @@
+// src/main/java/com/todoapp/config/DataSourceConfig.java
+package com.todoapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primary/replica data sources, enabled with app.datasource.replicas.enabled=true.
+ * Without it, Spring Boot's single spring.datasource pool is used unchanged.
+ * The primary pool keeps the spring.datasource and spring.datasource.hikari settings;
+ * replicas reuse the primary's driver and credentials unless overridden.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    /**
+     * Primary (read-write) pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Router between the primary and the replica pools
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            @Value("${app.datasource.replicas.urls}") List<String> replicaUrls,
+            @Value("${app.datasource.replicas.username:}") String replicaUsername,
+            @Value("${app.datasource.replicas.password:}") String replicaPassword,
+            @Value("${app.datasource.replicas.max-pool-size:10}") int replicaPoolSize,
+            @Value("${app.datasource.replicas.read-your-writes-window:5s}") Duration readYourWritesWindow,
+            @Value("${app.datasource.replicas.health-check-timeout:2s}") Duration healthCheckTimeout,
+            MeterRegistry meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        // Replica credentials are overridden as a pair, so an empty replica password is allowed
+        boolean ownCredentials = StringUtils.hasText(replicaUsername);
+        for (String url : replicaUrls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(ownCredentials ? replicaUsername : properties.determineUsername())
+                    .password(ownCredentials ? replicaPassword : properties.determinePassword())
+                    .build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replica.setConnectionTimeout(healthCheckTimeout.toMillis());
+            // A replica that is down must not block startup or stall reads; it just leaves rotation
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+
+        routingDataSource = new ReplicaRoutingDataSource(
+                primaryDataSource, replicas, readYourWritesWindow, healthCheckTimeout, meterRegistry);
+        return routingDataSource;
+    }
+
+    /**
+     * The DataSource used by JPA and JDBC. The lazy proxy defers fetching a physical
+     * connection until the first statement, when the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Read-your-writes marker for requests served by other nodes. Registered ahead of the
+     * security filters, whose user lookups are reads too.
+     */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Re-validate replicas so failed ones return to rotation once they recover
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval-ms:10000}")
+    public void checkReplicas() {
+        if (routingDataSource != null) {
+            routingDataSource.checkReplicas();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 // src/main/java/com/todoapp/config/OpenAPIConfig.java
 package com.todoapp.config;
 
+import com.todoapp.security.CurrentUser;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
@@ -9,6 +10,7 @@ import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,6 +24,11 @@ import java.util.List;
 @Configuration
 public class OpenAPIConfig {
 
+    static {
+        // @CurrentUser parameters are resolved from the security context, not the request
+        SpringDocUtils.getConfig().addAnnotationsToIgnore(CurrentUser.class);
+    }
+
     @Value("${server.port:8080}")
     private String serverPort;
 
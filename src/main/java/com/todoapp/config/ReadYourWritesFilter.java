@@ -0,0 +1,70 @@
+// src/main/java/com/todoapp/config/ReadYourWritesFilter.java
+package com.todoapp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Carries the read-your-writes window between nodes in a cookie.
+ * A request whose write commits gets a cookie holding the end of the window; requests that
+ * bring it back read from the primary until then, whichever node serves them. The value only
+ * decides routing, so it is not signed: a forged one can at most keep its own client on the
+ * primary for one window. Nodes compare it with their own clocks, so the window absorbs
+ * clock differences between them.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "primary_until";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ReplicaRoutingDataSource.bindClientWrites(readMarker(request), until -> writeMarker(response, until));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unbindClientWrites();
+        }
+    }
+
+    private static Instant readMarker(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Instant.ofEpochMilli(Long.parseLong(cookie.getValue()));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void writeMarker(HttpServletResponse response, Instant until) {
+        if (response.isCommitted()) {
+            return;
+        }
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, String.valueOf(until.toEpochMilli()))
+                .path("/")
+                .httpOnly(true)
+                .sameSite("Lax")
+                .maxAge(Duration.between(Instant.now(), until))
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+}
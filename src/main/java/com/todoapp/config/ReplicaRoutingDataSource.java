@@ -0,0 +1,307 @@
+// src/main/java/com/todoapp/config/ReplicaRoutingDataSource.java
+package com.todoapp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todoapp.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * DataSource that sends read-only transactions to replica pools and everything else to the primary.
+ * The decision uses the transaction's read-only flag, so it must sit behind a
+ * LazyConnectionDataSourceProxy: the physical connection is then fetched at the first
+ * statement, after Spring has marked the transaction read-only.
+ * A user whose read-write transaction committed within the read-your-writes window is kept
+ * on the primary, so they never read data older than their own last write.
+ * Writes on this node are remembered per user. Writes on other nodes are known only from the
+ * marker the client carries back ({@link ReadYourWritesFilter}): a commit hands the request
+ * the end of its window, and a request bound with an unexpired one reads from the primary.
+ * The user is taken from the SecurityContextHolder, so this only works on request threads.
+ * Scheduled jobs and async senders have no authenticated user: their read-only transactions
+ * go to a replica unless they name the user they read for with {@link #readAs}, and their
+ * writes do not start a read-your-writes window.
+ * Replicas that fail a connection attempt or a health check are skipped until a later
+ * health check succeeds; with no healthy replica, reads go to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // User named by readAs on this thread, for callers without a security context
+    private static final ThreadLocal<Long> readUser = new ThreadLocal<>();
+
+    // Read-your-writes marker of the request on this thread, bound by ReadYourWritesFilter
+    private static final ThreadLocal<ClientWrites> clientWrites = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Cache<Long, Boolean> recentWriters;
+    private final Duration readYourWritesWindow;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final int healthCheckTimeoutSeconds;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+
+    /**
+     * Create the routing data source
+     * @param primary Primary (read-write) pool
+     * @param replicas Replica pools, in round-robin order
+     * @param readYourWritesWindow How long a user's reads stay on the primary after they write
+     * @param healthCheckTimeout Timeout for one replica connection validation
+     * @param meterRegistry Registry for routing counters and the healthy replica gauge
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration readYourWritesWindow,
+                                    Duration healthCheckTimeout, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica-" + i, replicas.get(i)));
+        }
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+
+        this.primaryReads = readCounter("primary", meterRegistry);
+        this.replicaReads = readCounter("replica", meterRegistry);
+        this.stickyReads = readCounter("primary-after-write", meterRegistry);
+        Gauge.builder("datasource.replicas.healthy", this, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                .description("Replicas currently eligible for read-only transactions")
+                .register(meterRegistry);
+    }
+
+    private static Counter readCounter(String target, MeterRegistry meterRegistry) {
+        return Counter.builder("datasource.routing.reads")
+                .description("Read-only connections by the pool that served them")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return primary.getConnection();
+        }
+
+        Long userId = currentUserId();
+        if ((userId != null && recentWriters.getIfPresent(userId) != null) || clientWroteRecently()) {
+            stickyReads.increment();
+            return primary.getConnection();
+        }
+
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.healthy = false;
+                logger.warn("Replica {} unavailable, routing reads elsewhere until it recovers: {}",
+                        replica.name, e.getMessage());
+            }
+        }
+
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Connection with per-call credentials, always from the primary
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Run a read on behalf of a user from a thread without their security context, such as a
+     * scheduled job or an async sender. Read-only transactions started inside it get the
+     * user's read-your-writes routing, as they would on the user's own request thread.
+     * Has no effect unless read replicas are enabled.
+     * @param userId User whose reads must not be older than their own last write
+     * @param read The read; must start and finish its transaction inside this call
+     * @return The read's result
+     */
+    public static <T> T readAs(Long userId, Supplier<T> read) {
+        Long previous = readUser.get();
+        readUser.set(userId);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                readUser.remove();
+            } else {
+                readUser.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Bind the read-your-writes marker a request carries to the current thread. Call
+     * {@link #unbindClientWrites} when the request ends.
+     * @param primaryUntil End of the window from the client's last write on any node, or null
+     * @param onWrite Told the end of the new window when a write of this request commits
+     */
+    public static void bindClientWrites(Instant primaryUntil, Consumer<Instant> onWrite) {
+        clientWrites.set(new ClientWrites(primaryUntil, onWrite));
+    }
+
+    /**
+     * Remove the marker bound by {@link #bindClientWrites}
+     */
+    public static void unbindClientWrites() {
+        clientWrites.remove();
+    }
+
+    /**
+     * Validate every replica and bring recovered ones back into rotation
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    logger.info("Replica {} is healthy again", replica.name);
+                } else {
+                    logger.warn("Replica {} failed its health check", replica.name);
+                }
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * Number of replicas currently eligible for reads
+     * @return Healthy replica count
+     */
+    public int getHealthyReplicaCount() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    /**
+     * Close the replica pools. The primary is owned by the caller.
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Keep the current user's reads on the primary once this transaction commits, on this node
+     * and, through the request's marker, on any other
+     */
+    private void recordWriteOnCommit() {
+        Long userId = currentUserId();
+        ClientWrites client = clientWrites.get();
+        if ((userId == null && client == null) || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (userId != null) {
+                    recentWriters.put(userId, Boolean.TRUE);
+                }
+                if (client != null) {
+                    client.onWrite.accept(Instant.now().plus(readYourWritesWindow));
+                }
+            }
+        });
+    }
+
+    /**
+     * Whether the request's marker is inside its window. A marker further out than one window
+     * was not issued by a node with a sane clock and is ignored.
+     */
+    private boolean clientWroteRecently() {
+        ClientWrites client = clientWrites.get();
+        if (client == null || client.primaryUntil == null) {
+            return false;
+        }
+        Instant now = Instant.now();
+        return client.primaryUntil.isAfter(now) && !client.primaryUntil.isAfter(now.plus(readYourWritesWindow));
+    }
+
+    private static Long currentUserId() {
+        Long named = readUser.get();
+        if (named != null) {
+            return named;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    /**
+     * Read-your-writes marker of one request and where to report its new writes
+     */
+    private static final class ClientWrites {
+
+        private final Instant primaryUntil;
+        private final Consumer<Instant> onWrite;
+
+        ClientWrites(Instant primaryUntil, Consumer<Instant> onWrite) {
+            this.primaryUntil = primaryUntil;
+            this.onWrite = onWrite;
+        }
+    }
+
+    /**
+     * One replica pool and its last known health
+     */
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
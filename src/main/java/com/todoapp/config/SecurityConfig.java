@@ -2,7 +2,10 @@
 package com.todoapp.config;
 
 import com.todoapp.security.JwtAuthenticationFilter;
+import com.todoapp.security.OffloadingPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -14,6 +17,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -22,8 +26,10 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -44,21 +50,38 @@ public class SecurityConfig {
     }
 
     /**
-     * Password encoder bean - uses BCrypt for secure password hashing
+     * Password encoder bean - uses BCrypt for secure password hashing.
+     * Hashing runs on a dedicated bounded pool, off the request threads.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.password-hashing.bcrypt-strength:10}") int bcryptStrength,
+                                           @Value("${app.security.password-hashing.pool-size:0}") int poolSize,
+                                           @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${app.security.password-hashing.max-wait:5s}") Duration maxWait,
+                                           MeterRegistry meterRegistry) {
+        // Default to one worker per core
+        int workers = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(
+                new BCryptPasswordEncoder(bcryptStrength),
+                workers,
+                queueCapacity,
+                maxWait,
+                meterRegistry
+        );
     }
 
     /**
-     * Authentication provider configuration
+     * Authentication provider configuration.
+     * Rehashes stored passwords on login when the configured BCrypt cost increases.
      */
     @Bean
-    public DaoAuthenticationProvider authenticationProvider(@Lazy UserDetailsService userDetailsService) {
+    public DaoAuthenticationProvider authenticationProvider(@Lazy UserDetailsService userDetailsService,
+                                                            @Lazy UserDetailsPasswordService userDetailsPasswordService,
+                                                            PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -98,7 +121,9 @@ public class SecurityConfig {
                 "Accept",
                 "Origin",
                 "Access-Control-Request-Method",
-                "Access-Control-Request-Headers"
+                "Access-Control-Request-Headers",
+                "If-None-Match",            // Conditional GETs of the todo list, stats and categories
+                "Last-Event-ID"             // Resume position of /api/todos/stream
         ));
 
         // Allow credentials (cookies, authorization headers)
@@ -108,7 +133,8 @@ public class SecurityConfig {
         configuration.setExposedHeaders(Arrays.asList(
                 "Authorization",
                 "Access-Control-Allow-Origin",
-                "Access-Control-Allow-Credentials"
+                "Access-Control-Allow-Credentials",
+                "ETag"
         ));
 
         // Cache preflight response for 1 hour
@@ -162,6 +188,9 @@ public class SecurityConfig {
                         // Admin-only endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
+                        // Async dispatches of /api/todos/stream were authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
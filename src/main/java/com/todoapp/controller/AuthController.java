@@ -3,17 +3,25 @@ package com.todoapp.controller;
 
 import com.todoapp.dto.auth.*;
 import com.todoapp.entity.User;
+import com.todoapp.exception.PasswordHashingUnavailableException;
+import com.todoapp.security.AuthenticatedUser;
+import com.todoapp.security.JwtAuthenticationFilter;
+import com.todoapp.security.LoginThrottle;
+import com.todoapp.security.TokenDenylist;
+import com.todoapp.security.VerifiedToken;
+import com.todoapp.service.RefreshTokenService;
 import com.todoapp.service.UserService;
 import com.todoapp.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -32,14 +40,23 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
     private final JwtUtil jwtUtil;
+    private final TokenDenylist tokenDenylist;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
 
     @Autowired
     public AuthController(AuthenticationManager authenticationManager,
                           UserService userService,
-                          JwtUtil jwtUtil) {
+                          JwtUtil jwtUtil,
+                          TokenDenylist tokenDenylist,
+                          LoginThrottle loginThrottle,
+                          RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
         this.userService = userService;
         this.jwtUtil = jwtUtil;
+        this.tokenDenylist = tokenDenylist;
+        this.loginThrottle = loginThrottle;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
@@ -65,15 +82,18 @@ public class AuthController {
             );
 
             // Generate tokens
-            UserDetails userDetails = userService.loadUserByUsername(registerRequest.getEmail());
+            AuthenticatedUser userDetails = (AuthenticatedUser) userService.loadUserByUsername(registerRequest.getEmail());
             String accessToken = jwtUtil.generateToken(userDetails);
-            String refreshToken = jwtUtil.generateRefreshToken(userDetails);
+            String refreshToken = refreshTokenService.issue(userDetails);
 
             // Return success response
             AuthResponseDTO response = new AuthResponseDTO(accessToken, refreshToken, newUser);
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
+            if (isPasswordHashingUnavailable(e)) {
+                return serviceBusy();
+            }
             Map<String, String> error = new HashMap<>();
             error.put("message", "Registration failed: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
@@ -83,10 +103,22 @@ public class AuthController {
     /**
      * Login user
      * @param loginRequest User login credentials
+     * @param request HTTP request (client address for throttling)
      * @return Authentication response with JWT token
      */
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@Valid @RequestBody LoginRequestDTO loginRequest) {
+    public ResponseEntity<?> loginUser(@Valid @RequestBody LoginRequestDTO loginRequest,
+                                       HttpServletRequest request) {
+        // Reject over-limit attempts before any password hashing happens
+        long retryAfterSeconds = loginThrottle.tryAcquire(loginRequest.getEmail(), request.getRemoteAddr());
+        if (retryAfterSeconds > 0) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Too many login attempts, please try again later");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(error);
+        }
+
         try {
             // Authenticate user
             Authentication authentication = authenticationManager.authenticate(
@@ -96,22 +128,14 @@ public class AuthController {
                     )
             );
 
-            // Get user details
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            Optional<User> userOpt = userService.findActiveUserByEmail(loginRequest.getEmail());
-
-            if (userOpt.isEmpty()) {
-                Map<String, String> error = new HashMap<>();
-                error.put("message", "User not found or inactive");
-                return ResponseEntity.badRequest().body(error);
-            }
-
-            User user = userOpt.get();
-            UserDTO userDTO = new UserDTO(user);
+            // The principal authenticate() loaded (from the user details cache) already has
+            // everything the response needs; inactive users were rejected as disabled
+            AuthenticatedUser userDetails = (AuthenticatedUser) authentication.getPrincipal();
+            UserDTO userDTO = new UserDTO(userDetails);
 
             // Generate tokens
             String accessToken = jwtUtil.generateToken(userDetails);
-            String refreshToken = jwtUtil.generateRefreshToken(userDetails);
+            String refreshToken = refreshTokenService.issue(userDetails);
 
             // Return success response
             AuthResponseDTO response = new AuthResponseDTO(accessToken, refreshToken, userDTO);
@@ -122,6 +146,9 @@ public class AuthController {
             error.put("message", "Invalid email or password");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
         } catch (Exception e) {
+            if (isPasswordHashingUnavailable(e)) {
+                return serviceBusy();
+            }
             Map<String, String> error = new HashMap<>();
             error.put("message", "Login failed: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
@@ -129,46 +156,51 @@ public class AuthController {
     }
 
     /**
-     * Refresh access token using refresh token
+     * Refresh access token using refresh token.
+     * The refresh token is single use: a new one is returned and the old one stops working.
      * @param refreshRequest Refresh token request
-     * @return New access token
+     * @return New access and refresh tokens
      */
     @PostMapping("/refresh")
     public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequestDTO refreshRequest) {
         try {
-            String refreshToken = refreshRequest.getRefreshToken();
-
-            // Validate refresh token
-            if (!jwtUtil.validateToken(refreshToken)) {
+            // Validate refresh token (signature and expiry)
+            Optional<VerifiedToken> verifiedToken = jwtUtil.parseToken(refreshRequest.getRefreshToken());
+            if (verifiedToken.isEmpty()) {
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Invalid refresh token");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
             }
 
             // Check if it's actually a refresh token
-            if (!jwtUtil.isRefreshToken(refreshToken)) {
+            if (!verifiedToken.get().isRefreshToken()) {
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Token is not a refresh token");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
             }
 
-            // Extract username and generate new access token
-            String email = jwtUtil.extractUsername(refreshToken);
-            UserDetails userDetails = userService.loadUserByUsername(email);
-            String newAccessToken = jwtUtil.generateToken(userDetails);
+            // Load the owner (served from the user cache)
+            AuthenticatedUser userDetails = (AuthenticatedUser) userService.loadUserByUsername(verifiedToken.get().getSubject());
 
-            // Get user info
-            Optional<User> userOpt = userService.findActiveUserByEmail(email);
-            if (userOpt.isEmpty()) {
+            // Reject refresh tokens revoked by a password change or deactivation
+            if (!userDetails.isEnabled() || !jwtUtil.validateToken(verifiedToken.get(), userDetails)) {
                 Map<String, String> error = new HashMap<>();
-                error.put("message", "User not found or inactive");
+                error.put("message", "Refresh token has been revoked");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
             }
 
-            UserDTO userDTO = new UserDTO(userOpt.get());
+            // One-time use: swap the stored token for a new one
+            Optional<String> newRefreshToken = refreshTokenService.rotate(verifiedToken.get(), userDetails);
+            if (newRefreshToken.isEmpty()) {
+                Map<String, String> error = new HashMap<>();
+                error.put("message", "Refresh token has been revoked");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+            }
+
+            String newAccessToken = jwtUtil.generateToken(userDetails);
 
             // Return new tokens
-            AuthResponseDTO response = new AuthResponseDTO(newAccessToken, refreshToken, userDTO);
+            AuthResponseDTO response = new AuthResponseDTO(newAccessToken, newRefreshToken.get(), new UserDTO(userDetails));
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
@@ -179,15 +211,25 @@ public class AuthController {
     }
 
     /**
-     * Logout user (invalidate token - client-side implementation)
+     * Logout user by revoking the current access token and, if provided, the refresh token
+     * @param request HTTP request carrying the verified access token
+     * @param refreshRequest Optional refresh token to revoke as well
      * @return Success message
      */
     @PostMapping("/logout")
-    public ResponseEntity<?> logoutUser() {
-        // In a more sophisticated implementation, you might want to:
-        // 1. Maintain a blacklist of tokens
-        // 2. Store tokens in Redis with expiration
-        // 3. Invalidate refresh tokens in database
+    public ResponseEntity<?> logoutUser(HttpServletRequest request,
+                                        @RequestBody(required = false) RefreshTokenRequestDTO refreshRequest) {
+        // Access token verified by JwtAuthenticationFilter
+        Object accessToken = request.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE);
+        if (accessToken instanceof VerifiedToken token) {
+            tokenDenylist.revoke(token.getId(), token.getExpiration());
+        }
+
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            jwtUtil.parseToken(refreshRequest.getRefreshToken())
+                    .filter(VerifiedToken::isRefreshToken)
+                    .ifPresent(refreshTokenService::revoke);
+        }
 
         Map<String, String> response = new HashMap<>();
         response.put("message", "Logged out successfully");
@@ -202,13 +244,15 @@ public class AuthController {
     @PostMapping("/validate")
     public ResponseEntity<?> validateToken(@RequestParam String token) {
         try {
-            boolean isValid = jwtUtil.validateToken(token);
+            Optional<VerifiedToken> verifiedToken = jwtUtil.parseToken(token)
+                    .filter(verified -> !tokenDenylist.isRevoked(verified.getId()));
+            boolean isValid = verifiedToken.isPresent();
 
             Map<String, Object> response = new HashMap<>();
             response.put("valid", isValid);
 
             if (isValid) {
-                String email = jwtUtil.extractUsername(token);
+                String email = verifiedToken.get().getSubject();
                 Optional<User> userOpt = userService.findActiveUserByEmail(email);
                 if (userOpt.isPresent()) {
                     response.put("user", new UserDTO(userOpt.get()));
@@ -282,6 +326,8 @@ public class AuthController {
             response.put("message", "Password changed successfully");
             return ResponseEntity.ok(response);
 
+        } catch (PasswordHashingUnavailableException e) {
+            return serviceBusy();
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
@@ -292,4 +338,25 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
+
+    /**
+     * Check if a failure was caused by the password hashing pool being saturated.
+     * Spring Security may wrap it in an InternalAuthenticationServiceException.
+     */
+    private boolean isPasswordHashingUnavailable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PasswordHashingUnavailableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity<?> serviceBusy() {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Authentication service is busy, please retry shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
 }
\ No newline at end of file
@@ -1,22 +1,38 @@
 // src/main/java/com/todoapp/controller/TodoController.java
 package com.todoapp.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todoapp.dto.TodoChangesDTO;
+import com.todoapp.dto.TodoPageDTO;
 import com.todoapp.dto.TodoRequestDTO;
 import com.todoapp.dto.TodoResponseDTO;
 import com.todoapp.dto.TodoStatsDTO;
+import com.todoapp.dto.TodoSuggestionsDTO;
 import com.todoapp.entity.Todo;
-import com.todoapp.entity.User;
+import com.todoapp.security.AuthenticatedUser;
+import com.todoapp.security.CurrentUser;
+import com.todoapp.service.TodoPushService;
 import com.todoapp.service.TodoService;
-import com.todoapp.service.UserService;
+import com.todoapp.service.TodoSuggestService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,67 +41,123 @@ import java.util.Optional;
  * REST Controller for Todo API endpoints with user authentication.
  * Handles HTTP requests and delegates business logic to TodoService.
  * All operations are now user-specific based on JWT authentication.
+ * The authenticated user is injected via {@link CurrentUser}, resolved once by the JWT filter.
+ * The todo list, stats and categories carry an ETag built from the user's todos version;
+ * a matching If-None-Match gets a 304 after a single users-row lookup.
+ * Changes are also pushed over Server-Sent Events from /stream.
  */
 @RestController
 @RequestMapping("/api/todos")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
 public class TodoController {
 
+    // Clients may keep conditional responses but must revalidate before each use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
     private final TodoService todoService;
-    private final UserService userService;
+    private final TodoSuggestService todoSuggestService;
+    private final TodoPushService todoPushService;
+    private final ObjectWriter todoWriter;
+    private final long statsETagWindowMillis;
+    private final long streamTimeoutNanos;
 
     @Autowired
-    public TodoController(TodoService todoService, UserService userService) {
+    public TodoController(TodoService todoService, TodoSuggestService todoSuggestService,
+                          TodoPushService todoPushService, ObjectMapper objectMapper,
+                          @Value("${app.http.stats-etag-window:60s}") Duration statsETagWindow,
+                          @Value("${app.http.stream-timeout:30s}") Duration streamTimeout) {
         this.todoService = todoService;
-        this.userService = userService;
-    }
-
-    /**
-     * Get current authenticated user
-     */
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return null;
-        }
-
-        String email = authentication.getName();
-        Optional<User> userOpt = userService.findActiveUserByEmail(email);
-        return userOpt.orElse(null);
+        this.todoSuggestService = todoSuggestService;
+        this.todoPushService = todoPushService;
+        // Streamed elements go through the writer's buffer instead of flushing one by one
+        this.todoWriter = objectMapper.writerFor(TodoResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.statsETagWindowMillis = Math.max(1, statsETagWindow.toMillis());
+        this.streamTimeoutNanos = streamTimeout.toNanos();
     }
 
     // ==================== EXISTING ENDPOINTS ====================
 
+    /**
+     * List the user's todos.
+     * Without limit/cursor the full list is returned as before; with either, one page
+     * is returned as { items, nextCursor, hasMore } (keyset pagination, newest first).
+     * searchMode=FUZZY matches title fragments and misspellings, best match first.
+     * stream=true writes the full list to the response as it is read from the database,
+     * so large lists are never held in memory; the JSON is the same as without it.
+     * The read-only transaction, and its pooled connection, stay open while the client reads,
+     * so a stream still running after app.http.stream-timeout is cut off (a 500 if nothing was
+     * sent yet, else a truncated array). A single blocked write can add up to the container's
+     * write timeout on top; clients with very large lists should page instead.
+     */
     @GetMapping
     public ResponseEntity<?> getAllUserTodos(
+            @CurrentUser AuthenticatedUser currentUser,
             @RequestParam(required = false) Boolean completed,
             @RequestParam(required = false) Todo.Priority priority,
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) TodoService.SearchMode searchMode,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean stream,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) {
 
         try {
-            User currentUser = getCurrentUser();
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "User not authenticated"));
             }
 
+            // Read before the todos, so the tag is never newer than the body it goes with
+            String etag = todosETag(currentUser.getId());
+            if (matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+
+            if (limit != null || cursor != null) {
+                TodoPageDTO page = todoService.getUserTodosPage(
+                        currentUser.getId(), completed, priority, category, search, searchMode, cursor, limit
+                );
+                return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(page);
+            }
+
+            if (Boolean.TRUE.equals(stream)) {
+                response.setHeader(HttpHeaders.ETAG, etag);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                writeTodoArray(response, currentUser.getId(), completed, priority, category, search, searchMode);
+                return null;
+            }
+
             List<TodoResponseDTO> todos = todoService.getUserTodos(
-                    currentUser.getId(), completed, priority, category, search
+                    currentUser.getId(), completed, priority, category, search, searchMode
             );
 
-            return ResponseEntity.ok(todos);
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(todos);
 
+        } catch (IllegalArgumentException e) {
+            // A stream=true list may have buffered its opening bracket
+            response.resetBuffer();
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
+            if (response.isCommitted()) {
+                // Part of a streamed list was already sent; the client sees a truncated array
+                return null;
+            }
+            response.resetBuffer();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("message", "Failed to fetch todos: " + e.getMessage()));
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTodoById(@PathVariable Long id) {
+    public ResponseEntity<?> getTodoById(@CurrentUser AuthenticatedUser currentUser, @PathVariable Long id) {
         try {
-            User currentUser = getCurrentUser();
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "User not authenticated"));
@@ -107,9 +179,9 @@ public class TodoController {
     }
 
     @PostMapping
-    public ResponseEntity<?> createTodo(@Valid @RequestBody TodoRequestDTO todoRequest) {
+    public ResponseEntity<?> createTodo(@CurrentUser AuthenticatedUser currentUser,
+                                        @Valid @RequestBody TodoRequestDTO todoRequest) {
         try {
-            User currentUser = getCurrentUser();
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "User not authenticated"));
@@ -129,11 +201,11 @@ public class TodoController {
 
     @PutMapping("/{id}")
     public ResponseEntity<?> updateTodo(
+            @CurrentUser AuthenticatedUser currentUser,
             @PathVariable Long id,
             @Valid @RequestBody TodoRequestDTO todoRequest) {
 
         try {
-            User currentUser = getCurrentUser();
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "User not authenticated"));
@@ -157,9 +229,8 @@ public class TodoController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteTodo(@PathVariable Long id) {
+    public ResponseEntity<?> deleteTodo(@CurrentUser AuthenticatedUser currentUser, @PathVariable Long id) {
         try {
-            User currentUser = getCurrentUser();
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "User not authenticated"));
@@ -181,9 +252,8 @@ public class TodoController {
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<?> toggleTodoCompletion(@PathVariable Long id) {
+    public ResponseEntity<?> toggleTodoCompletion(@CurrentUser AuthenticatedUser currentUser, @PathVariable Long id) {
         try {
-            User currentUser = getCurrentUser();
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "User not authenticated"));
@@ -213,9 +283,9 @@ public class TodoController {
      * Frontend expects: POST /api/todos/bulk-delete with body: { ids: [1, 2, 3] }
      */
     @PostMapping("/bulk-delete")
-    public ResponseEntity<?> bulkDeleteTodos(@RequestBody Map<String, List<Long>> request) {
+    public ResponseEntity<?> bulkDeleteTodos(@CurrentUser AuthenticatedUser currentUser,
+                                             @RequestBody Map<String, List<Long>> request) {
         try {
-            User currentUser = getCurrentUser();
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "User not authenticated"));
@@ -245,9 +315,9 @@ public class TodoController {
      * Frontend expects: POST /api/todos/reorder with body: [{ id: 1, order: 0 }, { id: 2, order: 1 }]
      */
     @PostMapping("/reorder")
-    public ResponseEntity<?> reorderTodos(@RequestBody List<Map<String, Object>> reorderData) {
+    public ResponseEntity<?> reorderTodos(@CurrentUser AuthenticatedUser currentUser,
+                                          @RequestBody List<Map<String, Object>> reorderData) {
         try {
-            User currentUser = getCurrentUser();
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "User not authenticated"));
@@ -273,16 +343,22 @@ public class TodoController {
      * Frontend expects: GET /api/todos/categories returning string[]
      */
     @GetMapping("/categories")
-    public ResponseEntity<?> getUserCategories() {
+    public ResponseEntity<?> getUserCategories(
+            @CurrentUser AuthenticatedUser currentUser,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            User currentUser = getCurrentUser();
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "User not authenticated"));
             }
 
+            String etag = todosETag(currentUser.getId());
+            if (matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+
             List<String> categories = todoService.getUserCategories(currentUser.getId());
-            return ResponseEntity.ok(categories);
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(categories);
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -290,21 +366,60 @@ public class TodoController {
         }
     }
 
+    /**
+     * Rename a category; if the new name already exists the two categories are merged
+     * Body: { from: "Old name", to: "New name" }
+     */
+    @PostMapping("/categories/rename")
+    public ResponseEntity<?> renameCategory(@CurrentUser AuthenticatedUser currentUser,
+                                            @RequestBody Map<String, String> request) {
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("message", "User not authenticated"));
+            }
+
+            int todoCount = todoService.renameUserCategory(
+                    currentUser.getId(), request.get("from"), request.get("to")
+            );
+
+            return ResponseEntity.ok(Map.of(
+                    "message", "Category renamed successfully",
+                    "todoCount", todoCount
+            ));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Failed to rename category: " + e.getMessage()));
+        }
+    }
+
     /**
      * Get statistics for the user's todos
      * Frontend expects: { total, completed, active, overdue }
+     * The ETag also changes every stats-etag-window, since overdue counts move with the clock.
      */
     @GetMapping("/stats")
-    public ResponseEntity<?> getUserTodoStats() {
+    public ResponseEntity<?> getUserTodoStats(
+            @CurrentUser AuthenticatedUser currentUser,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            User currentUser = getCurrentUser();
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "User not authenticated"));
             }
 
+            long window = System.currentTimeMillis() / statsETagWindowMillis;
+            String etag = "\"" + todoService.getTodosVersion(currentUser.getId()) + "-" + window + "\"";
+            if (matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+
             TodoStatsDTO stats = todoService.getUserTodoStats(currentUser.getId());
-            return ResponseEntity.ok(stats);
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(stats);
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -313,33 +428,179 @@ public class TodoController {
     }
 
     /**
-     * Get overdue todos for the user
+     * Full-text search over the user's todos, best match first.
+     * Combines with the completed/priority/category filters; paged as { items, nextCursor, hasMore }.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTodos(
+            @CurrentUser AuthenticatedUser currentUser,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) Todo.Priority priority,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("message", "User not authenticated"));
+            }
+
+            TodoPageDTO page = todoService.searchUserTodos(
+                    currentUser.getId(), query, completed, priority, category, cursor, limit
+            );
+            return ResponseEntity.ok(page);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Failed to search todos: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Delta sync: todos created, updated or deleted since the client's last sync token.
+     * Returns { changed, deleted, token, full }; without since, or with a token too old to
+     * delta from, full is true and changed holds every todo.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getTodoChanges(@CurrentUser AuthenticatedUser currentUser,
+                                            @RequestParam(required = false) String since) {
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("message", "User not authenticated"));
+            }
+
+            TodoChangesDTO changes = todoService.getUserTodoChanges(currentUser.getId(), since);
+            return ResponseEntity.ok(changes);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Failed to fetch changes: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Server-Sent Events stream of the user's todo changes.
+     * Each "changes" event has the /changes body as data and its sync token as id, so a client
+     * reconnecting with Last-Event-ID (or since) gets exactly what it missed as the first event.
+     * Errors carry only a status: 401 without a user, 400 for a malformed token, and 503 with
+     * Retry-After when this node has no room for another stream.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<SseEmitter> streamTodoChanges(
+            @CurrentUser AuthenticatedUser currentUser,
+            @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId,
+            @RequestParam(required = false) String since) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String resumeFrom = lastEventId != null && !lastEventId.isEmpty() ? lastEventId : since;
+        try {
+            return todoPushService.connect(currentUser.getId(), resumeFrom)
+                    .map(emitter -> ResponseEntity.ok()
+                            // Tells nginx-style proxies not to buffer the stream
+                            .header("X-Accel-Buffering", "no")
+                            .body(emitter))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, "5")
+                            .build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Autocomplete: the user's todo titles and categories starting with a prefix.
+     * Answered from an in-memory index, without a database query per keystroke.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(@CurrentUser AuthenticatedUser currentUser,
+                                     @RequestParam(required = false) String prefix,
+                                     @RequestParam(required = false) Integer limit) {
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("message", "User not authenticated"));
+            }
+
+            TodoSuggestionsDTO suggestions = todoSuggestService.suggest(currentUser.getId(), prefix, limit);
+            return ResponseEntity.ok(suggestions);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Failed to fetch suggestions: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get overdue todos for the user, most overdue first.
+     * With limit or cursor, one page is returned as { items, nextCursor, hasMore }.
      */
     @GetMapping("/overdue")
-    public ResponseEntity<?> getOverdueTodos() {
+    public ResponseEntity<?> getOverdueTodos(@CurrentUser AuthenticatedUser currentUser,
+                                             @RequestParam(required = false) Integer limit,
+                                             @RequestParam(required = false) String cursor) {
         try {
-            User currentUser = getCurrentUser();
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "User not authenticated"));
             }
 
+            if (limit != null || cursor != null) {
+                TodoPageDTO page = todoService.getUserOverdueTodosPage(currentUser.getId(), cursor, limit);
+                return ResponseEntity.ok(page);
+            }
+
             List<TodoResponseDTO> overdueTodos = todoService.getUserOverdueTodos(currentUser.getId());
             return ResponseEntity.ok(overdueTodos);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("message", "Failed to fetch overdue todos: " + e.getMessage()));
         }
     }
 
+    /**
+     * Count overdue todos for the user
+     */
+    @GetMapping("/overdue/count")
+    public ResponseEntity<?> countOverdueTodos(@CurrentUser AuthenticatedUser currentUser) {
+        try {
+            if (currentUser == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("message", "User not authenticated"));
+            }
+
+            long count = todoService.countUserOverdueTodos(currentUser.getId());
+            return ResponseEntity.ok(Map.of("count", count));
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Failed to count overdue todos: " + e.getMessage()));
+        }
+    }
+
     /**
      * Delete all completed todos for the user
      */
     @DeleteMapping("/completed")
-    public ResponseEntity<?> deleteCompletedTodos() {
+    public ResponseEntity<?> deleteCompletedTodos(@CurrentUser AuthenticatedUser currentUser) {
         try {
-            User currentUser = getCurrentUser();
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "User not authenticated"));
@@ -357,4 +618,62 @@ public class TodoController {
                     .body(Map.of("message", "Failed to delete completed todos: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * Strong ETag of the user's todo data
+     */
+    private String todosETag(Long userId) {
+        return "\"" + todoService.getTodosVersion(userId) + "\"";
+    }
+
+    /**
+     * Check an If-None-Match header against an ETag (weak comparison, as RFC 9110 requires)
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Write the user's todos to the response as one JSON array, element by element.
+     * Failing the consumer rolls back the transaction streaming the rows, which releases its
+     * connection, so a slow client can hold one for about stream-timeout at most.
+     */
+    private void writeTodoArray(HttpServletResponse response, Long userId, Boolean completed,
+                                Todo.Priority priority, String category, String search,
+                                TodoService.SearchMode searchMode) throws IOException {
+        // Closed (and flushed) only on success, so a query that fails before the writer's
+        // buffer first fills leaves the response uncommitted for an error status
+        SequenceWriter array = todoWriter.writeValuesAsArray(response.getOutputStream());
+        long started = System.nanoTime();
+        todoService.streamUserTodos(userId, completed, priority, category, search, searchMode, todo -> {
+            if (System.nanoTime() - started >= streamTimeoutNanos) {
+                throw new TransactionTimedOutException(
+                        "Todo list stream exceeded " + Duration.ofNanos(streamTimeoutNanos));
+            }
+            try {
+                array.write(todo);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        array.close();
+    }
+
+    private static ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.todoapp.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a delta sync response.
+ * Apply changed (upsert by id) and deleted (remove by id), then send token back as since.
+ * When full is true, changed holds every todo and replaces the client's copy.
+ */
+public class TodoChangesDTO {
+
+    private List<TodoResponseDTO> changed;
+    private List<Long> deleted;
+    private String token;
+    private boolean full;
+
+    /**
+     * Default constructor
+     */
+    public TodoChangesDTO() {}
+
+    /**
+     * Constructor with changes
+     * @param changed Todos created or updated since the client's token
+     * @param deleted Ids of todos deleted since the client's token
+     * @param token Token for the next sync
+     * @param full Whether changed is the complete list rather than a delta
+     */
+    public TodoChangesDTO(List<TodoResponseDTO> changed, List<Long> deleted, String token, boolean full) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.token = token;
+        this.full = full;
+    }
+
+    // Getters and Setters
+
+    public List<TodoResponseDTO> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<TodoResponseDTO> changed) {
+        this.changed = changed;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public void setFull(boolean full) {
+        this.full = full;
+    }
+}
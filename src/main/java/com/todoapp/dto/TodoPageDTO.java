@@ -0,0 +1,56 @@
+package com.todoapp.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of todos (keyset pagination).
+ * Pass nextCursor back as the cursor parameter to fetch the following page.
+ */
+public class TodoPageDTO {
+
+    private List<TodoResponseDTO> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    /**
+     * Default constructor
+     */
+    public TodoPageDTO() {}
+
+    /**
+     * Constructor with page contents
+     * @param items Todos on this page
+     * @param nextCursor Cursor for the next page, or null on the last page
+     */
+    public TodoPageDTO(List<TodoResponseDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    // Getters and Setters
+
+    public List<TodoResponseDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TodoResponseDTO> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -37,7 +37,7 @@ public class TodoResponseDTO {
         this.description = todo.getDescription();
         this.completed = todo.getCompleted();
         this.priority = todo.getPriority();
-        this.category = todo.getCategory();
+        this.category = todo.getCategoryName();
         this.createdAt = todo.getCreatedAt();
         this.updatedAt = todo.getUpdatedAt();
         this.dueDate = todo.getDueDate();
@@ -45,6 +45,27 @@ public class TodoResponseDTO {
         this.displayOrder = todo.getDisplayOrder();  // NEW
     }
 
+    /**
+     * Constructor used by JPQL projection queries ("SELECT new ...").
+     * Builds the DTO straight from columns, without loading a managed entity.
+     */
+    public TodoResponseDTO(Long id, String title, String description, Boolean completed,
+                           Todo.Priority priority, String category, LocalDateTime createdAt,
+                           LocalDateTime updatedAt, LocalDateTime dueDate, LocalDateTime completedAt,
+                           Integer displayOrder) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.completed = Boolean.TRUE.equals(completed);
+        this.priority = priority;
+        this.category = category;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.dueDate = dueDate;
+        this.completedAt = completedAt;
+        this.displayOrder = displayOrder;
+    }
+
     // Existing getters and setters...
 
     public Long getId() {
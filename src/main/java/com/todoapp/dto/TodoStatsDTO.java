@@ -1,20 +1,38 @@
 package com.todoapp.dto;
 
+import com.todoapp.entity.Todo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
 /**
  * Data Transfer Object for Todo statistics and analytics.
- * Provides summary information about todo counts and status.
+ * Provides summary information about todo counts and status,
+ * broken down by priority and by category.
  */
 public class TodoStatsDTO {
 
+    /**
+     * Category key for todos without a category
+     */
+    public static final String UNCATEGORIZED = "Uncategorized";
+
     private long total;
     private long completed;
     private long active;
     private long overdue;
+    private Map<String, Breakdown> byPriority = new LinkedHashMap<>();
+    private Map<String, Breakdown> byCategory = new TreeMap<>();
 
     /**
      * Default constructor
      */
-    public TodoStatsDTO() {}
+    public TodoStatsDTO() {
+        for (Todo.Priority priority : Todo.Priority.values()) {
+            byPriority.put(priority.name(), new Breakdown());
+        }
+    }
 
     /**
      * Constructor with all statistics
@@ -24,12 +42,68 @@ public class TodoStatsDTO {
      * @param overdue Number of overdue todos
      */
     public TodoStatsDTO(long total, long completed, long active, long overdue) {
+        this();
         this.total = total;
         this.completed = completed;
         this.active = active;
         this.overdue = overdue;
     }
 
+    /**
+     * Add the counts of one (priority, category) group
+     * @param priority Priority name
+     * @param category Category, or null for uncategorized todos
+     * @param total Number of todos in the group
+     * @param completed Number of completed todos in the group
+     * @param overdue Number of overdue todos in the group
+     */
+    public void add(String priority, String category, long total, long completed, long overdue) {
+        this.total += total;
+        this.completed += completed;
+        this.active += total - completed;
+        this.overdue += overdue;
+
+        addPriorityCounts(priority, total, completed, overdue);
+        addCategoryCounts(category, total, completed, overdue);
+    }
+
+    /**
+     * Add overdue todos of one (priority, category) group, when totals were set separately
+     * @param priority Priority name
+     * @param category Category, or null for uncategorized todos
+     * @param overdue Number of overdue todos in the group
+     */
+    public void addOverdue(String priority, String category, long overdue) {
+        this.overdue += overdue;
+        addPriorityCounts(priority, 0, 0, overdue);
+        addCategoryCounts(category, 0, 0, overdue);
+    }
+
+    /**
+     * Add to the breakdown of one priority only (overall totals are unchanged)
+     * @param priority Priority name
+     * @param total Number of todos
+     * @param completed Number of completed todos
+     * @param overdue Number of overdue todos
+     */
+    public void addPriorityCounts(String priority, long total, long completed, long overdue) {
+        if (priority != null) {
+            byPriority.computeIfAbsent(priority, key -> new Breakdown()).add(total, completed, overdue);
+        }
+    }
+
+    /**
+     * Add to the breakdown of one category only (overall totals are unchanged)
+     * @param category Category, or null for uncategorized todos
+     * @param total Number of todos
+     * @param completed Number of completed todos
+     * @param overdue Number of overdue todos
+     */
+    public void addCategoryCounts(String category, long total, long completed, long overdue) {
+        byCategory.computeIfAbsent(category != null ? category : UNCATEGORIZED, key -> new Breakdown())
+                .add(total, completed, overdue);
+    }
+
     // Getters and Setters
 
     /**
@@ -96,6 +170,38 @@ public class TodoStatsDTO {
         this.overdue = overdue;
     }
 
+    /**
+     * Get counts per priority (every priority is present)
+     * @return priority name to counts
+     */
+    public Map<String, Breakdown> getByPriority() {
+        return byPriority;
+    }
+
+    /**
+     * Set counts per priority
+     * @param byPriority priority name to counts
+     */
+    public void setByPriority(Map<String, Breakdown> byPriority) {
+        this.byPriority = byPriority;
+    }
+
+    /**
+     * Get counts per category, sorted by category name
+     * @return category to counts
+     */
+    public Map<String, Breakdown> getByCategory() {
+        return byCategory;
+    }
+
+    /**
+     * Set counts per category
+     * @param byCategory category to counts
+     */
+    public void setByCategory(Map<String, Breakdown> byCategory) {
+        this.byCategory = byCategory;
+    }
+
     /**
      * Calculate completion percentage
      * @return completion percentage (0-100)
@@ -115,4 +221,54 @@ public class TodoStatsDTO {
                 ", completionPercentage=" + String.format("%.1f", getCompletionPercentage()) + "%" +
                 '}';
     }
+
+    /**
+     * Todo counts for one priority or category
+     */
+    public static class Breakdown {
+
+        private long total;
+        private long completed;
+        private long active;
+        private long overdue;
+
+        void add(long total, long completed, long overdue) {
+            this.total += total;
+            this.completed += completed;
+            this.active += total - completed;
+            this.overdue += overdue;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public void setTotal(long total) {
+            this.total = total;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public void setCompleted(long completed) {
+            this.completed = completed;
+        }
+
+        public long getActive() {
+            return active;
+        }
+
+        public void setActive(long active) {
+            this.active = active;
+        }
+
+        public long getOverdue() {
+            return overdue;
+        }
+
+        public void setOverdue(long overdue) {
+            this.overdue = overdue;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.todoapp.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for autocomplete suggestions.
+ * Titles and categories of the user's todos that start with the typed prefix.
+ */
+public class TodoSuggestionsDTO {
+
+    private List<String> titles;
+    private List<String> categories;
+
+    /**
+     * Default constructor
+     */
+    public TodoSuggestionsDTO() {}
+
+    /**
+     * Constructor with suggestions
+     * @param titles Matching todo titles
+     * @param categories Matching category names
+     */
+    public TodoSuggestionsDTO(List<String> titles, List<String> categories) {
+        this.titles = titles;
+        this.categories = categories;
+    }
+
+    // Getters and Setters
+
+    public List<String> getTitles() {
+        return titles;
+    }
+
+    public void setTitles(List<String> titles) {
+        this.titles = titles;
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<String> categories) {
+        this.categories = categories;
+    }
+}
@@ -1,6 +1,7 @@
 package com.todoapp.dto.auth;
 
 import com.todoapp.entity.User;
+import com.todoapp.security.AuthenticatedUser;
 import java.time.LocalDateTime;
 
 /**
@@ -27,6 +28,15 @@ public class UserDTO {
         this.createdAt = user.getCreatedAt();
     }
 
+    public UserDTO(AuthenticatedUser user) {
+        this.id = user.getId();
+        this.name = user.getName();
+        this.email = user.getEmail();
+        this.isActive = user.isEnabled();
+        this.role = user.getRole();
+        this.createdAt = user.getCreatedAt();
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
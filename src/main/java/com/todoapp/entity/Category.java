@@ -0,0 +1,70 @@
+// src/main/java/com/todoapp/entity/Category.java
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * A user's category. Todos reference it by id instead of repeating the name, so renaming
+ * a category is a single-row update. todoCount is maintained with every todo mutation,
+ * so listing a user's categories never touches the todos table.
+ */
+@Entity
+@Table(name = "categories", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_categories_user_name", columnNames = {"user_id", "name"})
+})
+public class Category {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "todo_count", nullable = false)
+    private int todoCount;
+
+    // Constructors
+    public Category() {}
+
+    public Category(Long userId, String name) {
+        this.userId = userId;
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getTodoCount() {
+        return todoCount;
+    }
+
+    public void setTodoCount(int todoCount) {
+        this.todoCount = todoCount;
+    }
+}
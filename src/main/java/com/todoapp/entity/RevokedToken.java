@@ -0,0 +1,58 @@
+// src/main/java/com/todoapp/entity/RevokedToken.java
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Revoked JWT, persisted so logouts survive a restart.
+ * Rows are purged once the token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+
+    // The token's "jti" claim
+    @Id
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Constructors
+    public RevokedToken() {}
+
+    public RevokedToken(String tokenId, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "RevokedToken{" +
+                "tokenId='" + tokenId + '\'' +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -14,12 +14,17 @@ import java.time.LocalDateTime;
  * Each todo belongs to a user and contains task information.
  */
 @Entity
+// Indexes mirror the Flyway migrations in db/migration, which own the schema
+// (idx_todo_user_overdue is partial on PostgreSQL, which JPA cannot express)
 @Table(name = "todos", indexes = {
-        @Index(name = "idx_todo_user", columnList = "user_id"),
-        @Index(name = "idx_todo_completed", columnList = "completed"),
-        @Index(name = "idx_todo_priority", columnList = "priority"),
+        @Index(name = "idx_todo_user_created_desc", columnList = "user_id, created_at DESC, id DESC"),  // List and keyset pages
+        @Index(name = "idx_todo_user_completed_created", columnList = "user_id, completed, created_at, id"),
+        @Index(name = "idx_todo_user_category", columnList = "user_id, category_id, created_at DESC"),
+        @Index(name = "idx_todo_user_display_order", columnList = "user_id, display_order"),  // Drag-and-drop order
+        @Index(name = "idx_todo_user_stats", columnList = "user_id, priority, category_id, completed, due_date"),  // Covers stats
+        @Index(name = "idx_todo_user_overdue", columnList = "user_id, completed, due_date, id"),
         @Index(name = "idx_todo_due_date", columnList = "due_date"),
-        @Index(name = "idx_todo_display_order", columnList = "display_order")  // NEW INDEX
+        @Index(name = "idx_todo_user_sync", columnList = "user_id, sync_version")  // Delta sync
 })
 public class Todo {
 
@@ -43,8 +48,10 @@ public class Todo {
     @Column(nullable = false)
     private Priority priority = Priority.MEDIUM;
 
-    @Size(max = 100, message = "Category must not exceed 100 characters")
-    private String category;
+    // Per-user category row; null means no category
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
 
     @Column(name = "due_date")
     private LocalDateTime dueDate;
@@ -67,6 +74,10 @@ public class Todo {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    // The owner's todos_version of the last write to this todo (delta sync)
+    @Column(name = "sync_version", nullable = false)
+    private Long syncVersion = 0L;
+
     // ============================================
     // USER RELATIONSHIP
     // ============================================
@@ -103,7 +114,7 @@ public class Todo {
         this.user = user;
     }
 
-    public Todo(String title, String description, Priority priority, String category, User user) {
+    public Todo(String title, String description, Priority priority, Category category, User user) {
         this.title = title;
         this.description = description;
         this.priority = priority;
@@ -158,14 +169,22 @@ public class Todo {
         this.priority = priority;
     }
 
-    public String getCategory() {
+    public Category getCategory() {
         return category;
     }
 
-    public void setCategory(String category) {
+    public void setCategory(Category category) {
         this.category = category;
     }
 
+    /**
+     * Name of the todo's category
+     * @return Category name, or null if the todo has no category
+     */
+    public String getCategoryName() {
+        return category != null ? category.getName() : null;
+    }
+
     public LocalDateTime getDueDate() {
         return dueDate;
     }
@@ -207,6 +226,14 @@ public class Todo {
         this.completedAt = completedAt;
     }
 
+    public Long getSyncVersion() {
+        return syncVersion;
+    }
+
+    public void setSyncVersion(Long syncVersion) {
+        this.syncVersion = syncVersion;
+    }
+
     public User getUser() {
         return user;
     }
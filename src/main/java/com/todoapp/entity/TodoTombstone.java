@@ -0,0 +1,86 @@
+// src/main/java/com/todoapp/entity/TodoTombstone.java
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted todo, so delta sync can tell clients to drop it.
+ * Rows are purged after the tombstone retention period; sync tokens older than that
+ * get a full list instead of a delta.
+ */
+@Entity
+@Table(name = "todo_tombstones", indexes = {
+        @Index(name = "idx_tombstone_user_sync", columnList = "user_id, sync_version"),
+        @Index(name = "idx_tombstone_deleted_at", columnList = "deleted_at")
+})
+public class TodoTombstone {
+
+    // Todo ids are never reused, so the deleted todo's id identifies the tombstone
+    @Id
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // The owner's todos_version of the delete
+    @Column(name = "sync_version", nullable = false)
+    private Long syncVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Constructors
+    public TodoTombstone() {}
+
+    public TodoTombstone(Long todoId, Long userId, Long syncVersion, LocalDateTime deletedAt) {
+        this.todoId = todoId;
+        this.userId = userId;
+        this.syncVersion = syncVersion;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters and Setters
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public void setTodoId(Long todoId) {
+        this.todoId = todoId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getSyncVersion() {
+        return syncVersion;
+    }
+
+    public void setSyncVersion(Long syncVersion) {
+        this.syncVersion = syncVersion;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoTombstone{" +
+                "todoId=" + todoId +
+                ", userId=" + userId +
+                ", syncVersion=" + syncVersion +
+                '}';
+    }
+}
@@ -49,6 +49,14 @@ public class User {
     @Column(nullable = false)
     private Role role = Role.USER;
 
+    // Incremented to revoke all previously issued tokens
+    @Column(name = "token_version", nullable = false, columnDefinition = "integer default 0")
+    private Integer tokenVersion = 0;
+
+    // Bumped in the database by every todo mutation; never written from the entity
+    @Column(name = "todos_version", nullable = false, insertable = false, updatable = false)
+    private Long todosVersion = 0L;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -137,6 +145,18 @@ public class User {
         this.role = role;
     }
 
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Integer tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
+    public Long getTodosVersion() {
+        return todosVersion;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -172,6 +192,13 @@ public class User {
         todo.setUser(null);
     }
 
+    /**
+     * Invalidate all tokens issued before this call
+     */
+    public void incrementTokenVersion() {
+        this.tokenVersion = (tokenVersion == null ? 0 : tokenVersion) + 1;
+    }
+
     // toString (password excluded for security)
     @Override
     public String toString() {
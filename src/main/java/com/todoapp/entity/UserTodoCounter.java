@@ -0,0 +1,131 @@
+// src/main/java/com/todoapp/entity/UserTodoCounter.java
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Incrementally maintained todo counts for one user.
+ * Each user has one TOTAL row, one row per priority and one row per category
+ * (an empty key stands for "no category"), all under the (user_id, dimension, dim_key)
+ * primary key, so a user's stats are a single primary-key range read.
+ */
+@Entity
+@Table(name = "user_todo_counters")
+@IdClass(UserTodoCounter.Key.class)
+public class UserTodoCounter {
+
+    /**
+     * What a counter row counts
+     */
+    public enum Dimension {
+        TOTAL,
+        PRIORITY,
+        CATEGORY
+    }
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 16)
+    private Dimension dimension;
+
+    @Id
+    @Column(name = "dim_key", length = 100)
+    private String dimKey;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long completed;
+
+    // Constructors
+    public UserTodoCounter() {}
+
+    public UserTodoCounter(Long userId, Dimension dimension, String dimKey, long total, long completed) {
+        this.userId = userId;
+        this.dimension = dimension;
+        this.dimKey = dimKey;
+        this.total = total;
+        this.completed = completed;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Dimension getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(Dimension dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getDimKey() {
+        return dimKey;
+    }
+
+    public void setDimKey(String dimKey) {
+        this.dimKey = dimKey;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    /**
+     * Composite primary key
+     */
+    public static class Key implements Serializable {
+
+        private Long userId;
+        private Dimension dimension;
+        private String dimKey;
+
+        public Key() {}
+
+        public Key(Long userId, Dimension dimension, String dimKey) {
+            this.userId = userId;
+            this.dimension = dimension;
+            this.dimKey = dimKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId)
+                    && dimension == key.dimension
+                    && Objects.equals(dimKey, key.dimKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, dimension, dimKey);
+        }
+    }
+}
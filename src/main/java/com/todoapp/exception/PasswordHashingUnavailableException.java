@@ -0,0 +1,12 @@
+// src/main/java/com/todoapp/exception/PasswordHashingUnavailableException.java
+package com.todoapp.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
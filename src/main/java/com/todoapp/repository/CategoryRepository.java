@@ -0,0 +1,55 @@
+// src/main/java/com/todoapp/repository/CategoryRepository.java
+package com.todoapp.repository;
+
+import com.todoapp.entity.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for per-user categories.
+ */
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Integer> {
+
+    /**
+     * Find a user's category by exact name (uk_categories_user_name lookup)
+     */
+    Optional<Category> findByUserIdAndName(Long userId, String name);
+
+    /**
+     * Names of a user's categories that have todos, sorted (range scan of uk_categories_user_name)
+     */
+    @Query("SELECT c.name FROM Category c WHERE c.userId = :userId AND c.todoCount > 0 ORDER BY c.name")
+    List<String> findNamesInUseByUserId(@Param("userId") Long userId);
+
+    /**
+     * Create a category unless the user already has one with that name.
+     * Safe against concurrent inserts of the same name.
+     * @return 1 if inserted, 0 if the category was already there
+     */
+    @Modifying
+    @Query(value = "INSERT INTO categories (user_id, name, todo_count) VALUES (:userId, :name, 0) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("name") String name);
+
+    /**
+     * Apply a delta to a category's todo count
+     */
+    @Modifying
+    @Query("UPDATE Category c SET c.todoCount = c.todoCount + :delta WHERE c.id = :id")
+    int adjustTodoCount(@Param("id") Integer id, @Param("delta") int delta);
+
+    /**
+     * Rename a category in place; every todo referencing it follows
+     * @return 1 if renamed, 0 if the user has no category with that name
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Category c SET c.name = :newName WHERE c.userId = :userId AND c.name = :oldName")
+    int rename(@Param("userId") Long userId, @Param("oldName") String oldName, @Param("newName") String newName);
+}
@@ -0,0 +1,104 @@
+// src/main/java/com/todoapp/repository/RefreshTokenRepository.java
+package com.todoapp.repository;
+
+import com.todoapp.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Repository interface for refresh token sessions.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Rotate a live token in place: a single indexed conditional update.
+     * Matches at most one row, so concurrent use of the same token lets only one caller win.
+     * @param currentHash Hash of the presented token id
+     * @param newHash Hash of the replacement token id
+     * @param newExpiresAt Expiry of the replacement token
+     * @param now Current time
+     * @return 1 if rotated, 0 if the token is unknown, already rotated or expired
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshToken r SET r.previousTokenHash = r.tokenHash, r.tokenHash = :newHash, " +
+            "r.expiresAt = :newExpiresAt, r.lastUsedAt = :now " +
+            "WHERE r.tokenHash = :currentHash AND r.expiresAt > :now")
+    int rotate(@Param("currentHash") String currentHash,
+               @Param("newHash") String newHash,
+               @Param("newExpiresAt") Instant newExpiresAt,
+               @Param("now") Instant now);
+
+    /**
+     * Remember a token the session has just rotated away from, for reuse detection
+     * @param spentHash Hash of the spent token id
+     * @param spentExpiresAt Expiry of the spent token; it fails verification after that
+     * @param currentHash Hash of the session's replacement token id
+     * @return 1 if recorded, 0 if the session is gone
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO refresh_token_spent (token_hash, session_id, expires_at) " +
+            "SELECT :spentHash, id, :spentExpiresAt FROM refresh_tokens WHERE token_hash = :currentHash",
+            nativeQuery = true)
+    int recordSpent(@Param("spentHash") String spentHash,
+                    @Param("spentExpiresAt") Instant spentExpiresAt,
+                    @Param("currentHash") String currentHash);
+
+    /**
+     * Revoke the session that already spent the presented token (reuse detection).
+     * Its spent hashes go with it (ON DELETE CASCADE).
+     * @param spentHash Hash of the replayed token id
+     * @return Number of revoked sessions
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN " +
+            "(SELECT session_id FROM refresh_token_spent WHERE token_hash = :spentHash)",
+            nativeQuery = true)
+    int deleteBySpentTokenHash(@Param("spentHash") String spentHash);
+
+    /**
+     * Revoke a session by its current token
+     * @param tokenHash Hash of the token id
+     * @return Number of revoked sessions
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken r WHERE r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Delete one batch of expired sessions
+     * @param now Current time
+     * @param batchSize Maximum rows to delete
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN " +
+            "(SELECT id FROM refresh_tokens WHERE expires_at <= :now LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+    /**
+     * Delete one batch of spent hashes whose tokens have expired; verification rejects those
+     * tokens before they reach reuse detection
+     * @param now Current time
+     * @param batchSize Maximum rows to delete
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_token_spent WHERE token_hash IN " +
+            "(SELECT token_hash FROM refresh_token_spent WHERE expires_at <= :now LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredSpentBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+}
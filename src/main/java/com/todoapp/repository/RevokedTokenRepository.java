@@ -0,0 +1,37 @@
+// src/main/java/com/todoapp/repository/RevokedTokenRepository.java
+package com.todoapp.repository;
+
+import com.todoapp.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for revoked JWTs (logout denylist persistence).
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Find revocations that are still relevant
+     * @param now Current time
+     * @return Revoked tokens that have not expired yet
+     */
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    /**
+     * Delete revocations for tokens that have expired
+     * @param now Current time
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
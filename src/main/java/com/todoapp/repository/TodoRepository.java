@@ -1,22 +1,41 @@
 // src/main/java/com/todoapp/repository/TodoRepository.java
 package com.todoapp.repository;
 
+import com.todoapp.dto.TodoResponseDTO;
+import com.todoapp.entity.Category;
 import com.todoapp.entity.Todo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Todo entities with user authentication support.
- * Extends JpaRepository to provide CRUD operations and custom query methods.
+ * Extends JpaRepository to provide CRUD operations and custom query methods,
+ * and {@link TodoSearchRepository} for ranked full-text search.
  */
 @Repository
-public interface TodoRepository extends JpaRepository<Todo, Long> {
+public interface TodoRepository extends JpaRepository<Todo, Long>, TodoSearchRepository {
+
+    // Select clause for projection queries that build TodoResponseDTO directly;
+    // the query must join the category as "LEFT JOIN t.category c"
+    String RESPONSE_PROJECTION = "SELECT new com.todoapp.dto.TodoResponseDTO(" +
+            "t.id, t.title, t.description, t.completed, t.priority, c.name, " +
+            "t.createdAt, t.updatedAt, t.dueDate, t.completedAt, t.displayOrder) ";
+
+    // Rows fetched per round trip by streaming queries
+    String STREAM_FETCH_SIZE = "500";
 
     // ================================================
     // USER-SPECIFIC METHODS (NEW)
@@ -25,6 +44,7 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     /**
      * Find all todos for a specific user
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Todo> findByUserId(Long userId);
 
     /**
@@ -48,26 +68,20 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     List<Todo> findByUserIdAndPriority(Long userId, Todo.Priority priority);
 
     /**
-     * Find todos by user and category
+     * Find todos by user and category name
      */
-    List<Todo> findByUserIdAndCategory(Long userId, String category);
+    List<Todo> findByUserIdAndCategory_Name(Long userId, String categoryName);
 
     /**
-     * Find todos by user and category (case-insensitive)
+     * Find todos by user and category name (case-insensitive)
      */
-    List<Todo> findByUserIdAndCategoryIgnoreCase(Long userId, String category);
+    List<Todo> findByUserIdAndCategory_NameIgnoreCase(Long userId, String categoryName);
 
     /**
      * Find overdue todos for a specific user
      */
     List<Todo> findByUserIdAndDueDateBeforeAndCompletedFalse(Long userId, LocalDateTime date);
 
-    /**
-     * Find todos by user with title or description search
-     */
-    List<Todo> findByUserIdAndTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-            Long userId, String titleSearch, String descriptionSearch);
-
     /**
      * Find todos by user with due date range
      */
@@ -76,27 +90,211 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     /**
      * Complex filtering query for user todos
      */
-    @Query("SELECT t FROM Todo t WHERE t.user.id = :userId " +
+    @Query("SELECT t FROM Todo t LEFT JOIN t.category c WHERE t.user.id = :userId " +
             "AND (:completed IS NULL OR t.completed = :completed) " +
             "AND (:priority IS NULL OR t.priority = :priority) " +
-            "AND (:category IS NULL OR t.category = :category) " +
+            "AND (:category IS NULL OR c.name = :category) " +
             "ORDER BY t.createdAt DESC")
     List<Todo> findByUserIdWithFilters(@Param("userId") Long userId,
                                        @Param("completed") Boolean completed,
                                        @Param("priority") Todo.Priority priority,
                                        @Param("category") String category);
 
+    // ================================================
+    // READ PROJECTIONS (no entity hydration or dirty-check snapshots)
+    // ================================================
+
+    /**
+     * All of a user's todos as DTOs, newest first
+     */
+    @Query(RESPONSE_PROJECTION + "FROM Todo t LEFT JOIN t.category c WHERE t.user.id = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    List<TodoResponseDTO> findResponsesByUserId(@Param("userId") Long userId);
+
+    /**
+     * A user's todos written after a sync version, as DTOs in version order (delta sync)
+     */
+    @Query(RESPONSE_PROJECTION + "FROM Todo t LEFT JOIN t.category c WHERE t.user.id = :userId " +
+            "AND t.syncVersion > :syncVersion ORDER BY t.syncVersion, t.id")
+    List<TodoResponseDTO> findChangedResponsesByUserId(@Param("userId") Long userId,
+                                                       @Param("syncVersion") long syncVersion);
+
+    /**
+     * A single todo as a DTO, if it belongs to the user
+     */
+    @Query(RESPONSE_PROJECTION + "FROM Todo t LEFT JOIN t.category c WHERE t.id = :id AND t.user.id = :userId")
+    Optional<TodoResponseDTO> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * A user's todos as DTOs with optional filters, newest first
+     */
+    @Query(RESPONSE_PROJECTION + "FROM Todo t LEFT JOIN t.category c WHERE t.user.id = :userId " +
+            "AND (:completed IS NULL OR t.completed = :completed) " +
+            "AND (:priority IS NULL OR t.priority = :priority) " +
+            "AND (:category IS NULL OR c.name = :category) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TodoResponseDTO> findResponsesByUserIdWithFilters(@Param("userId") Long userId,
+                                                           @Param("completed") Boolean completed,
+                                                           @Param("priority") Todo.Priority priority,
+                                                           @Param("category") String category);
+
+    /**
+     * A user's todos as DTOs whose title or description matches a LikePatterns.contains pattern
+     */
+    @Query(RESPONSE_PROJECTION + "FROM Todo t LEFT JOIN t.category c WHERE t.user.id = :userId " +
+            "AND (LOWER(t.title) LIKE :searchPattern ESCAPE '\\' OR LOWER(t.description) LIKE :searchPattern ESCAPE '\\') " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TodoResponseDTO> searchResponsesByUserId(@Param("userId") Long userId,
+                                                  @Param("searchPattern") String searchPattern);
+
+    /**
+     * A user's overdue todos as DTOs, most overdue first.
+     * All overdue queries filter on (user_id, completed = false, due_date) so they are served by
+     * idx_todo_user_overdue, which on PostgreSQL is partial and never holds completed todos.
+     */
+    @Query(RESPONSE_PROJECTION + "FROM Todo t LEFT JOIN t.category c WHERE t.user.id = :userId " +
+            "AND t.completed = false AND t.dueDate < :now ORDER BY t.dueDate ASC, t.id ASC")
+    List<TodoResponseDTO> findOverdueResponsesByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * First page of a user's overdue todos, most overdue first
+     */
+    @Query(RESPONSE_PROJECTION + "FROM Todo t LEFT JOIN t.category c WHERE t.user.id = :userId " +
+            "AND t.completed = false AND t.dueDate < :now ORDER BY t.dueDate ASC, t.id ASC")
+    List<TodoResponseDTO> findOverduePageByUserId(@Param("userId") Long userId,
+                                                  @Param("now") LocalDateTime now,
+                                                  Pageable pageable);
+
     /**
-     * Get distinct categories for a user
+     * Next page of a user's overdue todos after the (dueDate, id) cursor
      */
-    @Query("SELECT DISTINCT t.category FROM Todo t WHERE t.user.id = :userId AND t.category IS NOT NULL ORDER BY t.category")
-    List<String> findDistinctCategoriesByUserId(@Param("userId") Long userId);
+    @Query(RESPONSE_PROJECTION + "FROM Todo t LEFT JOIN t.category c WHERE t.user.id = :userId " +
+            "AND t.completed = false AND t.dueDate < :now " +
+            "AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id)) " +
+            "ORDER BY t.dueDate ASC, t.id ASC")
+    List<TodoResponseDTO> findOverduePageByUserIdAfter(@Param("userId") Long userId,
+                                                       @Param("now") LocalDateTime now,
+                                                       @Param("dueDate") LocalDateTime dueDate,
+                                                       @Param("id") Long id,
+                                                       Pageable pageable);
+
+    /**
+     * First page of a user's todos, newest first, with optional filters and search.
+     * Keyset pagination over (created_at, id); page size comes from the Pageable.
+     * @param searchPattern LikePatterns.contains pattern matched against title or description, or null
+     */
+    @Query(RESPONSE_PROJECTION + "FROM Todo t LEFT JOIN t.category c WHERE t.user.id = :userId " +
+            "AND (:completed IS NULL OR t.completed = :completed) " +
+            "AND (:priority IS NULL OR t.priority = :priority) " +
+            "AND (:category IS NULL OR c.name = :category) " +
+            "AND (:searchPattern IS NULL OR LOWER(t.title) LIKE :searchPattern ESCAPE '\\' OR LOWER(t.description) LIKE :searchPattern ESCAPE '\\') " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TodoResponseDTO> findFirstPageByUserId(@Param("userId") Long userId,
+                                                @Param("completed") Boolean completed,
+                                                @Param("priority") Todo.Priority priority,
+                                                @Param("category") String category,
+                                                @Param("searchPattern") String searchPattern,
+                                                Pageable pageable);
+
+    /**
+     * Next page of a user's todos after the (createdAt, id) cursor, same filters as the first page
+     */
+    @Query(RESPONSE_PROJECTION + "FROM Todo t LEFT JOIN t.category c WHERE t.user.id = :userId " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "AND (:completed IS NULL OR t.completed = :completed) " +
+            "AND (:priority IS NULL OR t.priority = :priority) " +
+            "AND (:category IS NULL OR c.name = :category) " +
+            "AND (:searchPattern IS NULL OR LOWER(t.title) LIKE :searchPattern ESCAPE '\\' OR LOWER(t.description) LIKE :searchPattern ESCAPE '\\') " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TodoResponseDTO> findPageByUserIdAfter(@Param("userId") Long userId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                @Param("completed") Boolean completed,
+                                                @Param("priority") Todo.Priority priority,
+                                                @Param("category") String category,
+                                                @Param("searchPattern") String searchPattern,
+                                                Pageable pageable);
+
+    /**
+     * A user's todos as a stream of DTOs, newest first, with optional filters and search.
+     * Rows are read through the JDBC cursor STREAM_FETCH_SIZE at a time; the stream must be
+     * consumed inside a transaction and closed.
+     * @param searchPattern LikePatterns.contains pattern matched against title or description, or null
+     */
+    @Query(RESPONSE_PROJECTION + "FROM Todo t LEFT JOIN t.category c WHERE t.user.id = :userId " +
+            "AND (:completed IS NULL OR t.completed = :completed) " +
+            "AND (:priority IS NULL OR t.priority = :priority) " +
+            "AND (:category IS NULL OR c.name = :category) " +
+            "AND (:searchPattern IS NULL OR LOWER(t.title) LIKE :searchPattern ESCAPE '\\' OR LOWER(t.description) LIKE :searchPattern ESCAPE '\\') " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<TodoResponseDTO> streamResponsesByUserId(@Param("userId") Long userId,
+                                                    @Param("completed") Boolean completed,
+                                                    @Param("priority") Todo.Priority priority,
+                                                    @Param("category") String category,
+                                                    @Param("searchPattern") String searchPattern);
+
+    /**
+     * Title and category of every todo of a user; each row is [title, category].
+     * Loads a user's autocomplete index.
+     */
+    @Query("SELECT t.title, c.name FROM Todo t LEFT JOIN t.category c WHERE t.user.id = :userId")
+    List<Object[]> findTitlesAndCategoriesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Move every todo of one category to another (category merge)
+     * @return Number of todos moved
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.category = :target, t.updatedAt = :now WHERE t.category = :source")
+    int reassignCategory(@Param("source") Category source,
+                         @Param("target") Category target,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Stamp every todo in one of a user's categories with a sync version, so delta sync
+     * sends them again after the category was renamed
+     * @return Number of stamped todos
+     */
+    @Modifying
+    @Query("UPDATE Todo t SET t.syncVersion = :syncVersion WHERE t.category IN " +
+            "(SELECT c FROM Category c WHERE c.userId = :userId AND c.name = :name)")
+    int stampCategory(@Param("userId") Long userId,
+                      @Param("name") String name,
+                      @Param("syncVersion") long syncVersion);
 
     /**
      * Count todos by user and completion status
      */
     long countByUserIdAndCompleted(Long userId, boolean completed);
 
+    /**
+     * Todo counts for a user grouped by (priority, category), in one pass over idx_todo_user_stats.
+     * Each row is [priority, category, total, completed, overdue].
+     */
+    @Query("SELECT t.priority, c.name, COUNT(t), " +
+            "SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.completed = false AND t.dueDate < :now THEN 1 ELSE 0 END) " +
+            "FROM Todo t LEFT JOIN t.category c WHERE t.user.id = :userId GROUP BY t.priority, c.name")
+    List<Object[]> aggregateStatsByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * Todo counts for a batch of users grouped by (user, priority, category).
+     * Each row is [userId, priority, category, total, completed]; used to seed and reconcile counters.
+     */
+    @Query("SELECT t.user.id, t.priority, c.name, COUNT(t), " +
+            "SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END) " +
+            "FROM Todo t LEFT JOIN t.category c WHERE t.user.id IN :userIds GROUP BY t.user.id, t.priority, c.name")
+    List<Object[]> aggregateCountsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Overdue todos of a user grouped by (priority, category); reads only the overdue rows.
+     * Each row is [priority, category, overdue].
+     */
+    @Query("SELECT t.priority, c.name, COUNT(t) FROM Todo t LEFT JOIN t.category c " +
+            "WHERE t.user.id = :userId AND t.completed = false AND t.dueDate < :now " +
+            "GROUP BY t.priority, c.name")
+    List<Object[]> aggregateOverdueByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
     /**
      * Count overdue todos for a user
      */
@@ -118,14 +316,14 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     List<Todo> findByPriority(Todo.Priority priority);
 
     /**
-     * Find todos by exact category match
+     * Find todos by exact category name
      */
-    List<Todo> findByCategory(String category);
+    List<Todo> findByCategory_Name(String categoryName);
 
     /**
-     * Find todos by category (case-insensitive)
+     * Find todos by category name (case-insensitive)
      */
-    List<Todo> findByCategoryIgnoreCase(String category);
+    List<Todo> findByCategory_NameIgnoreCase(String categoryName);
 
     /**
      * Find overdue todos (due date has passed and not completed)
@@ -171,7 +369,7 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     /**
      * Get all distinct categories (non-null)
      */
-    @Query("SELECT DISTINCT t.category FROM Todo t WHERE t.category IS NOT NULL ORDER BY t.category")
+    @Query("SELECT DISTINCT c.name FROM Category c WHERE c.todoCount > 0 ORDER BY c.name")
     List<String> findDistinctCategories();
 
     /**
@@ -198,7 +396,7 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     /**
      * Count todos in specific category
      */
-    long countByCategory(String category);
+    long countByCategory_Name(String categoryName);
 
     /**
      * Find todos with no due date
@@ -213,11 +411,11 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     /**
      * Advanced search with multiple criteria
      */
-    @Query("SELECT t FROM Todo t WHERE " +
+    @Query("SELECT t FROM Todo t LEFT JOIN t.category c WHERE " +
             "(:searchTerm IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
             "AND (:completed IS NULL OR t.completed = :completed) " +
             "AND (:priority IS NULL OR t.priority = :priority) " +
-            "AND (:category IS NULL OR t.category = :category) " +
+            "AND (:category IS NULL OR c.name = :category) " +
             "ORDER BY t.createdAt DESC")
     List<Todo> findWithAdvancedSearch(@Param("searchTerm") String searchTerm,
                                       @Param("completed") Boolean completed,
@@ -0,0 +1,49 @@
+// src/main/java/com/todoapp/repository/TodoSearchRepository.java
+package com.todoapp.repository;
+
+import com.todoapp.dto.TodoResponseDTO;
+import com.todoapp.entity.Todo;
+import com.todoapp.util.SearchCursor;
+
+import java.util.List;
+
+/**
+ * Ranked full-text and fuzzy search over a user's todos.
+ * Mixed into {@link TodoRepository}; implemented by {@link TodoSearchRepositoryImpl}.
+ */
+public interface TodoSearchRepository {
+
+    /**
+     * One search result with the rank it was ordered by
+     */
+    record SearchHit(TodoResponseDTO todo, float rank) {}
+
+    /**
+     * Search a user's todos, best match first (rank DESC, id DESC)
+     * @param userId Owner of the todos; no other user's rows are ever read
+     * @param query Search text as typed by the user
+     * @param completed Completion filter, or null
+     * @param priority Priority filter, or null
+     * @param category Exact category filter, or null
+     * @param after Last hit of the previous page, or null for the first page
+     * @param limit Maximum number of hits
+     * @return Matching todos with their rank
+     */
+    List<SearchHit> searchByUserId(Long userId, String query, Boolean completed, Todo.Priority priority,
+                                   String category, SearchCursor after, int limit);
+
+    /**
+     * Fuzzy title search for fragments and misspellings, best match first (rank DESC, id DESC).
+     * Titles containing the term rank highest, then titles with a similar word.
+     * @param userId Owner of the todos; no other user's rows are ever read
+     * @param term Title fragment as typed by the user
+     * @param completed Completion filter, or null
+     * @param priority Priority filter, or null
+     * @param category Exact category filter, or null
+     * @param after Last hit of the previous page, or null for the first page
+     * @param limit Maximum number of hits
+     * @return Matching todos with their similarity rank
+     */
+    List<SearchHit> fuzzySearchByUserId(Long userId, String term, Boolean completed, Todo.Priority priority,
+                                        String category, SearchCursor after, int limit);
+}
@@ -0,0 +1,194 @@
+// src/main/java/com/todoapp/repository/TodoSearchRepositoryImpl.java
+package com.todoapp.repository;
+
+import com.todoapp.dto.TodoResponseDTO;
+import com.todoapp.entity.Todo;
+import com.todoapp.util.LikePatterns;
+import com.todoapp.util.SearchCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search implementation.
+ * On PostgreSQL, full-text search matches websearch_to_tsquery against the generated search_vector
+ * column (idx_todo_user_search, GIN on user_id and the vector) and orders by ts_rank, and fuzzy
+ * search matches title fragments and misspellings with pg_trgm (idx_todo_user_title_trgm).
+ * Other databases (H2 in tests) get LIKE fallbacks: for full-text, every search word must appear
+ * in the title or description, and title hits weigh more, mirroring the A/B weights of the vector;
+ * for fuzzy, the title must contain the term.
+ * Results are paged by keyset over (rank, id).
+ */
+public class TodoSearchRepositoryImpl implements TodoSearchRepository {
+
+    // Must match the configuration the search_vector column is generated with
+    private static final String TEXT_SEARCH_CONFIG = "english";
+
+    // ts_rank default weights for A (title) and B (description)
+    private static final float TITLE_WEIGHT = 1.0f;
+    private static final float DESCRIPTION_WEIGHT = 0.4f;
+
+    // Caps the size of the generated fallback query
+    private static final int MAX_FALLBACK_TERMS = 8;
+
+    private static final String COLUMNS = "t.id, t.title, t.description, t.completed, t.priority, " +
+            "c.name AS category, t.created_at, t.updated_at, t.due_date, t.completed_at, t.display_order";
+
+    private static final String FROM_TODOS = "FROM todos t LEFT JOIN categories c ON c.id = t.category_id ";
+
+    private static final RowMapper<SearchHit> HIT_MAPPER = (rs, rowNum) -> new SearchHit(
+            new TodoResponseDTO(
+                    rs.getLong("id"),
+                    rs.getString("title"),
+                    rs.getString("description"),
+                    rs.getBoolean("completed"),
+                    Todo.Priority.valueOf(rs.getString("priority")),
+                    rs.getString("category"),
+                    rs.getObject("created_at", LocalDateTime.class),
+                    rs.getObject("updated_at", LocalDateTime.class),
+                    rs.getObject("due_date", LocalDateTime.class),
+                    rs.getObject("completed_at", LocalDateTime.class),
+                    rs.getObject("display_order", Integer.class)),
+            rs.getFloat("rank"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Resolved on first use, once the datasource is reachable
+    private volatile Boolean postgres;
+
+    @Autowired
+    public TodoSearchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<SearchHit> searchByUserId(Long userId, String query, Boolean completed, Todo.Priority priority,
+                                          String category, SearchCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+
+        StringBuilder sql = new StringBuilder();
+        if (isPostgres()) {
+            sql.append("ts_rank(t.search_vector, q.query) AS rank ")
+                    .append(FROM_TODOS).append("CROSS JOIN websearch_to_tsquery('")
+                    .append(TEXT_SEARCH_CONFIG).append("', :query) AS q(query) ")
+                    .append("WHERE t.user_id = :userId AND t.search_vector @@ q.query");
+            params.addValue("query", query);
+        } else {
+            appendLikeFallback(sql, params, query);
+        }
+
+        return queryRanked(sql, params, completed, priority, category, after, limit);
+    }
+
+    @Override
+    public List<SearchHit> fuzzySearchByUserId(Long userId, String term, Boolean completed, Todo.Priority priority,
+                                               String category, SearchCursor after, int limit) {
+        String lowerTerm = term.toLowerCase(Locale.ROOT);
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId)
+                .addValue("pattern", "%" + LikePatterns.escape(lowerTerm) + "%");
+
+        StringBuilder sql = new StringBuilder();
+        if (isPostgres()) {
+            // Substring hits rank first; otherwise the best matching word of the title decides.
+            // Both LIKE and <% (word_similarity above pg_trgm.word_similarity_threshold) are
+            // answered by idx_todo_user_title_trgm.
+            sql.append("CAST(CASE WHEN LOWER(t.title) LIKE :pattern ESCAPE '\\' THEN 1 ")
+                    .append("ELSE word_similarity(:term, LOWER(t.title)) END AS REAL) AS rank ")
+                    .append(FROM_TODOS).append("WHERE t.user_id = :userId ")
+                    .append("AND (LOWER(t.title) LIKE :pattern ESCAPE '\\' OR :term <% LOWER(t.title))");
+            params.addValue("term", lowerTerm);
+        } else {
+            // No trigrams: substring matches only, title prefixes first
+            params.addValue("prefix", LikePatterns.escape(lowerTerm) + "%");
+            sql.append("CAST(CASE WHEN LOWER(t.title) LIKE :prefix ESCAPE '\\' THEN 1 ELSE 0.5 END AS REAL) AS rank ")
+                    .append(FROM_TODOS).append("WHERE t.user_id = :userId AND LOWER(t.title) LIKE :pattern ESCAPE '\\'");
+        }
+
+        return queryRanked(sql, params, completed, priority, category, after, limit);
+    }
+
+    /**
+     * Wrap a "rank AS rank FROM ... WHERE ..." fragment with the filters, the keyset condition,
+     * the (rank DESC, id DESC) order and the limit, and run it
+     */
+    private List<SearchHit> queryRanked(StringBuilder rankAndMatch, MapSqlParameterSource params,
+                                        Boolean completed, Todo.Priority priority, String category,
+                                        SearchCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM (SELECT ").append(COLUMNS).append(", ")
+                .append(rankAndMatch);
+
+        // Only the filters that are set, so every parameter has a known type
+        if (completed != null) {
+            sql.append(" AND t.completed = :completed");
+            params.addValue("completed", completed);
+        }
+        if (priority != null) {
+            sql.append(" AND t.priority = :priority");
+            params.addValue("priority", priority.name());
+        }
+        if (category != null) {
+            sql.append(" AND c.name = :category");
+            params.addValue("category", category);
+        }
+        sql.append(") ranked");
+
+        if (after != null) {
+            sql.append(" WHERE ranked.rank < :afterRank OR (ranked.rank = :afterRank AND ranked.id < :afterId)");
+            params.addValue("afterRank", after.getRank());
+            params.addValue("afterId", after.getId());
+        }
+        sql.append(" ORDER BY ranked.rank DESC, ranked.id DESC LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), params, HIT_MAPPER);
+    }
+
+    /**
+     * Rank and match clauses for databases without text search
+     */
+    private void appendLikeFallback(StringBuilder sql, MapSqlParameterSource params, String query) {
+        List<String> terms = Arrays.stream(query.toLowerCase(Locale.ROOT).split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_FALLBACK_TERMS)
+                .toList();
+
+        StringBuilder rank = new StringBuilder("CAST(0");
+        StringBuilder match = new StringBuilder();
+        for (int i = 0; i < terms.size(); i++) {
+            String title = "LOWER(t.title) LIKE :term" + i + " ESCAPE '\\'";
+            String description = "LOWER(t.description) LIKE :term" + i + " ESCAPE '\\'";
+            rank.append(" + CASE WHEN ").append(title).append(" THEN ").append(TITLE_WEIGHT).append(" ELSE 0 END")
+                    .append(" + CASE WHEN ").append(description).append(" THEN ").append(DESCRIPTION_WEIGHT)
+                    .append(" ELSE 0 END");
+            match.append(" AND (").append(title).append(" OR ").append(description).append(")");
+            params.addValue("term" + i, "%" + LikePatterns.escape(terms.get(i)) + "%");
+        }
+        rank.append(" AS REAL)");
+
+        sql.append(rank).append(" AS rank ").append(FROM_TODOS).append("WHERE t.user_id = :userId").append(match);
+    }
+
+    private boolean isPostgres() {
+        Boolean detected = postgres;
+        if (detected == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getJdbcTemplate().getDataSource(),
+                        metaData -> metaData.getDatabaseProductName());
+                detected = "PostgreSQL".equalsIgnoreCase(product);
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("Could not determine the database type for search", e);
+            }
+            postgres = detected;
+        }
+        return detected;
+    }
+}
@@ -0,0 +1,55 @@
+// src/main/java/com/todoapp/repository/TodoTombstoneRepository.java
+package com.todoapp.repository;
+
+import com.todoapp.entity.TodoTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for tombstones of deleted todos (delta sync).
+ */
+@Repository
+public interface TodoTombstoneRepository extends JpaRepository<TodoTombstone, Long> {
+
+    /**
+     * Record a deleted todo. A plain insert: the id is assigned, so save() would select first.
+     * @return Number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO todo_tombstones (todo_id, user_id, sync_version, deleted_at) " +
+            "VALUES (:todoId, :userId, :syncVersion, :deletedAt)",
+            nativeQuery = true)
+    int insert(@Param("todoId") Long todoId,
+               @Param("userId") Long userId,
+               @Param("syncVersion") long syncVersion,
+               @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Ids of a user's todos deleted after a sync version
+     * @param userId User ID
+     * @param syncVersion Version the client has already seen
+     * @return Deleted todo ids
+     */
+    @Query("SELECT t.todoId FROM TodoTombstone t WHERE t.userId = :userId AND t.syncVersion > :syncVersion")
+    List<Long> findTodoIdsByUserIdAfter(@Param("userId") Long userId, @Param("syncVersion") long syncVersion);
+
+    /**
+     * Delete one batch of tombstones older than the retention period
+     * @param cutoff Tombstones of deletes before this time are removed
+     * @param batchSize Maximum rows to delete
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM todo_tombstones WHERE todo_id IN " +
+            "(SELECT todo_id FROM todo_tombstones WHERE deleted_at < :cutoff LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteOlderThanBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
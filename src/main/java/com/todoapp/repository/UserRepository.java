@@ -2,12 +2,15 @@
 package com.todoapp.repository;
 
 import com.todoapp.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -91,6 +94,58 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmailAndIsActive(String email, Boolean isActive);
 
+    /**
+     * Get the current token version of an active user
+     * @param id User ID
+     * @return Token version, or empty if the user doesn't exist or is inactive
+     */
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id AND u.isActive = true")
+    Optional<Integer> findActiveTokenVersionById(@Param("id") Long id);
+
+    /**
+     * Get the version of a user's todo data
+     * @param id User ID
+     * @return Todos version, or empty if the user doesn't exist
+     */
+    @Query("SELECT u.todosVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findTodosVersionById(@Param("id") Long id);
+
+    /**
+     * Get the todos versions of several users
+     * @param ids User IDs
+     * @return Rows of [user id, todos version] for the users that exist
+     */
+    @Query("SELECT u.id, u.todosVersion FROM User u WHERE u.id IN :ids")
+    List<Object[]> findTodosVersionsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Row-lock a user until commit without changing the row. Todo mutations take this lock
+     * before reading the todos they change, so no other mutation of the user's todos can
+     * commit between that read and this transaction's commit.
+     * @param id User ID
+     * @return The user ID, or empty if the user doesn't exist
+     */
+    @Query(value = "SELECT id FROM users WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
+    /**
+     * Bump the version of a user's todo data (row-locks the user until commit)
+     * @param id User ID
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.todosVersion = u.todosVersion + 1 WHERE u.id = :id")
+    int incrementTodosVersion(@Param("id") Long id);
+
+    /**
+     * User ids after the given id, in id order (keyset batches for background jobs)
+     * @param afterId Last id of the previous batch (0 for the first)
+     * @param pageable Batch size
+     * @return Next batch of user ids
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     /**
      * Delete inactive users older than specified date
      * @param date Date threshold
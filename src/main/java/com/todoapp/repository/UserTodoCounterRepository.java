@@ -0,0 +1,81 @@
+// src/main/java/com/todoapp/repository/UserTodoCounterRepository.java
+package com.todoapp.repository;
+
+import com.todoapp.entity.UserTodoCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for per-user todo counters.
+ */
+@Repository
+public interface UserTodoCounterRepository extends JpaRepository<UserTodoCounter, UserTodoCounter.Key> {
+
+    /**
+     * All counter rows of a user (primary key prefix scan)
+     */
+    List<UserTodoCounter> findByUserId(Long userId);
+
+    /**
+     * All counter rows of a batch of users
+     */
+    List<UserTodoCounter> findByUserIdIn(Collection<Long> userIds);
+
+    /**
+     * Apply a delta to one counter row
+     * @return 1 if the row exists, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE UserTodoCounter c SET c.total = c.total + :total, c.completed = c.completed + :completed " +
+            "WHERE c.userId = :userId AND c.dimension = :dimension AND c.dimKey = :dimKey")
+    int increment(@Param("userId") Long userId,
+                  @Param("dimension") UserTodoCounter.Dimension dimension,
+                  @Param("dimKey") String dimKey,
+                  @Param("total") long total,
+                  @Param("completed") long completed);
+
+    /**
+     * Create a zeroed counter row unless it already exists.
+     * Safe against concurrent inserts of the same row.
+     * @return 1 if inserted, 0 if the row was already there
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_todo_counters (user_id, dimension, dim_key, total, completed) " +
+            "VALUES (:userId, :dimension, :dimKey, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("dimension") String dimension,
+                       @Param("dimKey") String dimKey);
+
+    /**
+     * Lock a user's TOTAL row; counter updates for that user take the same lock first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM UserTodoCounter c WHERE c.userId = :userId AND c.dimension = :dimension AND c.dimKey = ''")
+    Optional<UserTodoCounter> lockTotal(@Param("userId") Long userId,
+                                        @Param("dimension") UserTodoCounter.Dimension dimension);
+
+    /**
+     * Zero all counter rows of a user (before rewriting them).
+     * Clears the persistence context so counter entities read earlier are not reused.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserTodoCounter c SET c.total = 0, c.completed = 0 WHERE c.userId = :userId")
+    int resetByUserId(@Param("userId") Long userId);
+
+    /**
+     * Delete a user's zeroed priority and category rows, keeping the TOTAL row
+     */
+    @Modifying
+    @Query("DELETE FROM UserTodoCounter c WHERE c.userId = :userId AND c.dimension <> :total " +
+            "AND c.total = 0 AND c.completed = 0")
+    int deleteEmptyByUserId(@Param("userId") Long userId, @Param("total") UserTodoCounter.Dimension total);
+}
@@ -0,0 +1,165 @@
+// src/main/java/com/todoapp/security/AuthenticatedUser.java
+package com.todoapp.security;
+
+import com.todoapp.entity.User;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authenticated principal stored in the security context.
+ * Carries the user id and role so controllers don't need a second user lookup.
+ */
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private final Long id;
+    private final String email;
+    private String password;
+    private final User.Role role;
+    private final boolean active;
+    private final int tokenVersion;
+    private final String name;
+    private final LocalDateTime createdAt;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String email, String password, User.Role role,
+                             boolean active, int tokenVersion) {
+        this(id, email, password, role, active, tokenVersion, null, null);
+    }
+
+    public AuthenticatedUser(Long id, String email, String password, User.Role role,
+                             boolean active, int tokenVersion, String name, LocalDateTime createdAt) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.active = active;
+        this.tokenVersion = tokenVersion;
+        this.name = name;
+        this.createdAt = createdAt;
+        this.authorities = List.of(new SimpleGrantedAuthority(role.getAuthority()));
+    }
+
+    /**
+     * Create a principal from a User entity
+     * @param user User entity
+     * @return Authenticated principal
+     */
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getRole(),
+                Boolean.TRUE.equals(user.getIsActive()),
+                user.getTokenVersion() != null ? user.getTokenVersion() : 0,
+                user.getName(),
+                user.getCreatedAt()
+        );
+    }
+
+    /**
+     * Create an independent copy of this principal
+     * @return Copy with the same id, credentials and role
+     */
+    public AuthenticatedUser copy() {
+        return new AuthenticatedUser(id, email, password, role, active, tokenVersion, name, createdAt);
+    }
+
+    /**
+     * Create a principal purely from verified token claims (no database access).
+     * The principal has no password or profile fields and is always active.
+     * @param token Verified token carrying uid, role and tv claims
+     * @return Authenticated principal
+     */
+    public static AuthenticatedUser fromToken(VerifiedToken token) {
+        return new AuthenticatedUser(
+                token.getUserId(),
+                token.getSubject(),
+                null,
+                token.getRole(),
+                true,
+                token.getTokenVersion()
+        );
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public User.Role getRole() {
+        return role;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return active;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{" +
+                "id=" + id +
+                ", email='" + email + '\'' +
+                ", role=" + role +
+                ", active=" + active +
+                ", tokenVersion=" + tokenVersion +
+                '}';
+    }
+}
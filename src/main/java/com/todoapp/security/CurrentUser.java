@@ -0,0 +1,14 @@
+// src/main/java/com/todoapp/security/CurrentUser.java
+package com.todoapp.security;
+
+import java.lang.annotation.*;
+
+/**
+ * Injects the {@link AuthenticatedUser} of the current request into a controller method parameter.
+ * Resolves to null when the request is not authenticated.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -3,11 +3,16 @@ package com.todoapp.security;
 
 import com.todoapp.service.UserService;
 import com.todoapp.util.JwtUtil;
+import com.todoapp.util.RateLimitedLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +21,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * JWT Authentication Filter that intercepts requests to validate JWT tokens.
@@ -24,13 +32,47 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Request attribute holding the {@link VerifiedToken} for the current request
+     */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".VERIFIED_TOKEN";
+
     private final JwtUtil jwtUtil;
     private final UserService userService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final TokenDenylist tokenDenylist;
+
+    // When enabled, principals are built from signed token claims instead of a user lookup
+    private final boolean statelessPrincipal;
+
+    // Bad tokens are counted per reason and logged at most once per interval
+    private final Map<TokenValidationResult.Status, Counter> rejectionCounters =
+            new EnumMap<>(TokenValidationResult.Status.class);
+    private final RateLimitedLogger rejectionLogger;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   UserService userService,
+                                   TokenVersionRegistry tokenVersionRegistry,
+                                   TokenDenylist tokenDenylist,
+                                   @Value("${app.auth.stateless-principal:false}") boolean statelessPrincipal,
+                                   @Value("${app.auth.rejection-log-interval:10s}") Duration rejectionLogInterval,
+                                   MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.userService = userService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.tokenDenylist = tokenDenylist;
+        this.statelessPrincipal = statelessPrincipal;
+        this.rejectionLogger = new RateLimitedLogger(LoggerFactory.getLogger(JwtAuthenticationFilter.class), rejectionLogInterval);
+
+        for (TokenValidationResult.Status status : TokenValidationResult.Status.values()) {
+            if (status != TokenValidationResult.Status.VALID) {
+                rejectionCounters.put(status, Counter.builder("auth.token.rejected")
+                        .description("Bearer tokens rejected by the authentication filter")
+                        .tag("reason", status.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+        }
     }
 
     @Override
@@ -42,16 +84,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Get JWT token from request header
             String jwt = getJwtFromRequest(request);
 
-            // If JWT exists and is valid
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                // Extract username from token
-                String email = jwtUtil.extractUsername(jwt);
+            // Parse and verify the token once for the whole request
+            TokenValidationResult result = jwt != null ? jwtUtil.verifyToken(jwt) : null;
+
+            // Refresh tokens are only accepted by /api/auth/refresh, which this filter skips
+            if (result != null && result.isValid() && result.getToken().get().isRefreshToken()) {
+                result = TokenValidationResult.rejected(TokenValidationResult.Status.WRONG_TYPE);
+            }
+            if (result != null && !result.isValid()) {
+                recordRejection(result.getStatus());
+            }
+
+            // Skip tokens revoked by logout
+            if (result != null && result.isValid() && !tokenDenylist.isRevoked(result.getToken().get().getId())) {
+                VerifiedToken token = result.getToken().get();
 
-                // Load user details
-                UserDetails userDetails = userService.loadUserByUsername(email);
+                // Resolve the principal from claims, or fall back to a user lookup
+                UserDetails userDetails = resolvePrincipal(token);
 
-                // Validate token against user details
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                // Validate token against user details using the already verified claims
+                if (userDetails != null && jwtUtil.validateToken(token, userDetails)) {
                     // Create authentication token
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
@@ -65,17 +117,50 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                     // Set authentication in security context
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                    // Expose the verified claims to the rest of the request
+                    request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, token);
                 }
             }
         } catch (Exception ex) {
             // Log error but don't block the request
-            logger.error("Could not set user authentication in security context", ex);
+            rejectionLogger.warn("Could not set user authentication in security context", ex);
         }
 
         // Continue with the filter chain
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Count a rejected token and log it, rate-limited.
+     * Expired tokens are routine (clients refresh late), so they are only counted.
+     * @param status Rejection reason
+     */
+    private void recordRejection(TokenValidationResult.Status status) {
+        rejectionCounters.get(status).increment();
+        if (status != TokenValidationResult.Status.EXPIRED) {
+            rejectionLogger.warn("Rejected bearer token: {}", status);
+        }
+    }
+
+    /**
+     * Resolve the principal for a verified token.
+     * In stateless mode, tokens carrying identity claims are checked against the
+     * in-memory token version only; other tokens go through UserService.
+     * @param token Verified JWT token
+     * @return User details, or null if the token has been revoked
+     */
+    private UserDetails resolvePrincipal(VerifiedToken token) {
+        if (statelessPrincipal && token.hasIdentityClaims()) {
+            if (!tokenVersionRegistry.isCurrent(token.getUserId(), token.getTokenVersion())) {
+                return null;
+            }
+            return AuthenticatedUser.fromToken(token);
+        }
+
+        return userService.loadUserByUsername(token.getSubject());
+    }
+
     /**
      * Extract JWT token from the Authorization header
      * @param request HTTP request
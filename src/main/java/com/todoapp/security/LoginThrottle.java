@@ -0,0 +1,157 @@
+// src/main/java/com/todoapp/security/LoginThrottle.java
+package com.todoapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Token-bucket limiter for login attempts, keyed by account (email) and by client IP.
+ * Checked before authentication so throttled attempts never reach BCrypt.
+ * Buckets are guarded by a fixed set of striped locks and evicted once idle long
+ * enough to have refilled completely (a full bucket is the same as no bucket).
+ * Decisions are published as "auth.login.throttle" counters tagged scope and result.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int STRIPES = 64;
+
+    private final boolean enabled;
+    private final Limiter accounts;
+    private final Limiter clients;
+
+    @Autowired
+    public LoginThrottle(@Value("${app.auth.login-throttle.enabled:true}") boolean enabled,
+                         @Value("${app.auth.login-throttle.account.capacity:10}") int accountCapacity,
+                         @Value("${app.auth.login-throttle.account.refill-period:30s}") Duration accountRefillPeriod,
+                         @Value("${app.auth.login-throttle.ip.capacity:100}") int ipCapacity,
+                         @Value("${app.auth.login-throttle.ip.refill-period:1s}") Duration ipRefillPeriod,
+                         @Value("${app.auth.login-throttle.max-tracked:100000}") long maxTracked,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.accounts = new Limiter("account", accountCapacity, accountRefillPeriod, maxTracked, meterRegistry);
+        this.clients = new Limiter("ip", ipCapacity, ipRefillPeriod, maxTracked, meterRegistry);
+    }
+
+    /**
+     * Take one login attempt from the client's and the account's buckets
+     * @param email Email the client is trying to log in as
+     * @param clientIp Client IP address
+     * @return 0 if the attempt may proceed, otherwise seconds until the next attempt is allowed
+     */
+    public long tryAcquire(String email, String clientIp) {
+        if (!enabled) {
+            return 0;
+        }
+
+        long retryAfterNanos = clients.tryAcquire(clientIp);
+        if (retryAfterNanos == 0) {
+            retryAfterNanos = accounts.tryAcquire(email == null ? null : email.toLowerCase(Locale.ROOT));
+        }
+        return retryAfterNanos == 0 ? 0 : Math.max(1, Duration.ofNanos(retryAfterNanos).toSeconds());
+    }
+
+    /**
+     * Forget all buckets
+     */
+    public void reset() {
+        accounts.buckets.invalidateAll();
+        clients.buckets.invalidateAll();
+    }
+
+    /**
+     * Buckets for one key space, with their striped locks and counters
+     */
+    private static final class Limiter {
+
+        private final Cache<String, TokenBucket> buckets;
+        private final Object[] locks = new Object[STRIPES];
+        private final int capacity;
+        private final long refillPeriodNanos;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        Limiter(String scope, int capacity, Duration refillPeriod, long maxTracked, MeterRegistry meterRegistry) {
+            this.capacity = capacity;
+            this.refillPeriodNanos = refillPeriod.toNanos();
+            for (int i = 0; i < STRIPES; i++) {
+                locks[i] = new Object();
+            }
+
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxTracked)
+                    .expireAfterAccess(refillPeriod.multipliedBy(capacity))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, buckets, "loginThrottle." + scope);
+
+            this.allowed = Counter.builder("auth.login.throttle")
+                    .description("Login attempts checked by the throttle")
+                    .tag("scope", scope)
+                    .tag("result", "allowed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("auth.login.throttle")
+                    .description("Login attempts checked by the throttle")
+                    .tag("scope", scope)
+                    .tag("result", "rejected")
+                    .register(meterRegistry);
+        }
+
+        long tryAcquire(String key) {
+            if (key == null) {
+                key = "";
+            }
+
+            TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, System.nanoTime()));
+            long retryAfterNanos;
+            synchronized (locks[stripeFor(key)]) {
+                retryAfterNanos = bucket.tryConsume(System.nanoTime(), capacity, refillPeriodNanos);
+            }
+
+            (retryAfterNanos == 0 ? allowed : rejected).increment();
+            return retryAfterNanos;
+        }
+
+        private static int stripeFor(String key) {
+            int h = key.hashCode();
+            return (h ^ (h >>> 16)) & (STRIPES - 1);
+        }
+    }
+
+    /**
+     * Mutable bucket state; always accessed under its key's stripe lock
+     */
+    private static final class TokenBucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        long tryConsume(long now, int capacity, long refillPeriodNanos) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + (double) elapsed / refillPeriodNanos);
+                lastRefillNanos = now;
+            }
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * refillPeriodNanos);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+// src/main/java/com/todoapp/security/OffloadingPasswordEncoder.java
+package com.todoapp.security;
+
+import com.todoapp.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder that runs hashing and matching on a dedicated, bounded worker pool.
+ * Caps the CPU spent on BCrypt so a login storm can't starve other request traffic.
+ * At most poolSize + queueCapacity hashes are admitted at once (queueCapacity may be 0);
+ * beyond that, calls fail fast with PasswordHashingUnavailableException (503).
+ *
+ * A caller gives up after maxWait, but BCrypt ignores interrupts, so a hash that has already
+ * started runs to completion and keeps its worker busy; only hashes still waiting are dropped.
+ * A running hash keeps its admission slot until it finishes, so timeouts can't overcommit the
+ * pool. Size maxWait well above the time one hash takes at the configured cost (it doubles per
+ * cost step), plus the queue's worth of hashes ahead of it, or timeouts will waste workers.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService monitoredExecutor;
+    // One permit per admitted hash, held until the hash finishes or is dropped unstarted
+    private final Semaphore admissions;
+    private final Duration maxWait;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate,
+                                     int poolSize,
+                                     int queueCapacity,
+                                     Duration maxWait,
+                                     MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWait = maxWait;
+        this.admissions = new Semaphore(poolSize + queueCapacity);
+
+        // Admission is bounded by the permits, so the queue itself needs no bound
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        // Publishes executor.queued, executor.active, executor.pool.size, etc.
+        this.monitoredExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordHashing");
+
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .description("Time spent hashing or verifying passwords")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .description("Time spent hashing or verifying passwords")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    /**
+     * Cheap check (no hashing), so it runs on the caller thread
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Get the number of tasks waiting for a worker
+     * @return Queue depth
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        if (!admissions.tryAcquire()) {
+            throw new PasswordHashingUnavailableException("Authentication service is busy, please retry shortly");
+        }
+
+        // Whoever claims the task first (the worker or a caller giving up) decides whether it runs
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = monitoredExecutor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                try {
+                    return task.call();
+                } finally {
+                    admissions.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admissions.release();
+            throw new PasswordHashingUnavailableException("Authentication service is busy, please retry shortly", e);
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(future, claimed);
+            throw new PasswordHashingUnavailableException("Authentication service is busy, please retry shortly", e);
+        } catch (InterruptedException e) {
+            abandon(future, claimed);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Password hashing was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    /**
+     * Give up on a hash. One still waiting is dropped and frees its slot; one already running
+     * ignores the interrupt and frees its slot when it finishes.
+     */
+    private void abandon(Future<?> future, AtomicBoolean claimed) {
+        if (claimed.compareAndSet(false, true)) {
+            future.cancel(false);
+            admissions.release();
+        } else {
+            future.cancel(true);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
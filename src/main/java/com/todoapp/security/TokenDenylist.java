@@ -0,0 +1,218 @@
+// src/main/java/com/todoapp/security/TokenDenylist.java
+package com.todoapp.security;
+
+import com.todoapp.entity.RevokedToken;
+import com.todoapp.repository.RevokedTokenRepository;
+import com.todoapp.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory denylist of revoked token ids ("jti" claim).
+ * Lookups are a Bloom filter pre-check followed by a hash map probe.
+ * Entries sit in a timing wheel slot matching their expiry and are dropped
+ * once the token would have expired anyway, so memory stays bounded.
+ * Optionally persists revocations so they survive a restart.
+ */
+@Component
+public class TokenDenylist {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenDenylist.class);
+
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final boolean persistent;
+    private final long tickMillis;
+    private final long expectedEntries;
+
+    // jti -> expiry (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    // Timing wheel: one queue of jtis per tick, indexed by expiry tick modulo wheel size
+    private final Queue<String>[] wheel;
+    private long lastProcessedTick;
+
+    private volatile BloomFilter bloomFilter;
+    private long bloomCapacity;
+    private long removedSinceRebuild;
+
+    @Autowired
+    @SuppressWarnings("unchecked")
+    public TokenDenylist(RevokedTokenRepository revokedTokenRepository,
+                         @Value("${app.auth.denylist.persistent:false}") boolean persistent,
+                         @Value("${app.auth.denylist.tick-ms:60000}") long tickMillis,
+                         @Value("${app.auth.denylist.expected-entries:1000000}") long expectedEntries,
+                         @Value("${jwt.expiration:86400000}") long jwtExpirationMs,
+                         MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.persistent = persistent;
+        this.tickMillis = tickMillis;
+        this.expectedEntries = expectedEntries;
+
+        // Refresh tokens live 7x longer than access tokens; the wheel must span that
+        int slots = (int) ((jwtExpirationMs * 7) / tickMillis) + 2;
+        this.wheel = new Queue[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.lastProcessedTick = System.currentTimeMillis() / tickMillis;
+        this.bloomCapacity = expectedEntries;
+        this.bloomFilter = new BloomFilter(bloomCapacity, BLOOM_FALSE_POSITIVE_RATE);
+
+        Gauge.builder("auth.denylist.size", revoked, Map::size)
+                .description("Number of revoked tokens held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reload persisted revocations that have not expired yet
+     */
+    @PostConstruct
+    void loadPersisted() {
+        if (!persistent) {
+            return;
+        }
+
+        List<RevokedToken> stored = revokedTokenRepository.findByExpiresAtAfter(Instant.now());
+        for (RevokedToken token : stored) {
+            addInMemory(token.getTokenId(), token.getExpiresAt().toEpochMilli());
+        }
+        logger.info("Loaded {} revoked tokens", stored.size());
+    }
+
+    /**
+     * Check if a token id has been revoked
+     * @param tokenId Token "jti" claim
+     * @return true if the token is revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Revoke a token until its expiry
+     * @param tokenId Token "jti" claim
+     * @param expiration Token expiration date
+     */
+    public void revoke(String tokenId, Date expiration) {
+        if (tokenId == null || expiration == null) {
+            return;
+        }
+
+        long expiresAt = expiration.getTime();
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+
+        addInMemory(tokenId, expiresAt);
+
+        if (persistent) {
+            revokedTokenRepository.save(new RevokedToken(tokenId, Instant.ofEpochMilli(expiresAt)));
+        }
+    }
+
+    /**
+     * Get the number of revoked tokens held in memory
+     * @return Entry count
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    private synchronized void addInMemory(String tokenId, long expiresAt) {
+        if (revoked.put(tokenId, expiresAt) == null) {
+            // File under the first tick that starts after expiry, so the sweep finds it already expired
+            wheel[slotFor(expiresAt / tickMillis + 1)].add(tokenId);
+        }
+        bloomFilter.put(tokenId);
+    }
+
+    /**
+     * Advance the timing wheel and drop entries whose tokens have expired
+     */
+    @Scheduled(fixedDelayString = "${app.auth.denylist.tick-ms:60000}")
+    public void expire() {
+        long now = System.currentTimeMillis();
+        long currentTick = now / tickMillis;
+
+        synchronized (this) {
+            // Catch up on missed ticks, but never sweep more than one full rotation
+            long fromTick = Math.max(lastProcessedTick + 1, currentTick - wheel.length + 1);
+            for (long tick = fromTick; tick <= currentTick; tick++) {
+                drainSlot(slotFor(tick), now);
+            }
+            lastProcessedTick = currentTick;
+
+            if (removedSinceRebuild >= Math.max(1024, revoked.size() / 4)
+                    || revoked.size() > bloomCapacity) {
+                rebuildBloomFilter();
+            }
+        }
+
+        if (persistent) {
+            revokedTokenRepository.deleteExpired(Instant.ofEpochMilli(now));
+        }
+    }
+
+    private void drainSlot(int slot, long now) {
+        Queue<String> queue = wheel[slot];
+        List<String> notYetExpired = new ArrayList<>();
+
+        String tokenId;
+        while ((tokenId = queue.poll()) != null) {
+            Long expiresAt = revoked.get(tokenId);
+            if (expiresAt == null) {
+                continue;
+            }
+            if (expiresAt <= now) {
+                revoked.remove(tokenId);
+                removedSinceRebuild++;
+            } else {
+                notYetExpired.add(tokenId);
+            }
+        }
+
+        queue.addAll(notYetExpired);
+    }
+
+    /**
+     * Bloom filters can't delete, so rebuild from the live set once enough entries expired.
+     * Also grows the filter if the live set outgrew its sizing.
+     */
+    private void rebuildBloomFilter() {
+        long capacity = Math.max(expectedEntries, revoked.size() * 2L);
+        BloomFilter rebuilt = new BloomFilter(capacity, BLOOM_FALSE_POSITIVE_RATE);
+        for (String tokenId : revoked.keySet()) {
+            rebuilt.put(tokenId);
+        }
+        bloomFilter = rebuilt;
+        bloomCapacity = capacity;
+        removedSinceRebuild = 0;
+    }
+
+    private int slotFor(long tick) {
+        return (int) Math.floorMod(tick, (long) wheel.length);
+    }
+}
@@ -0,0 +1,84 @@
+// src/main/java/com/todoapp/security/TokenValidationResult.java
+package com.todoapp.security;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Outcome of verifying a JWT: either a verified token or the reason it was rejected.
+ * Returned instead of throwing so junk tokens stay cheap to reject.
+ * Rejections are shared constants and allocate nothing.
+ */
+public final class TokenValidationResult {
+
+    /**
+     * Verification status
+     */
+    public enum Status {
+        VALID,
+        MALFORMED,
+        OVERSIZE,
+        UNSUPPORTED_ALGORITHM,
+        UNKNOWN_KEY,
+        EXPIRED,
+        BAD_SIGNATURE,
+        // A valid refresh token presented as a bearer token
+        WRONG_TYPE
+    }
+
+    private static final Map<Status, TokenValidationResult> REJECTIONS = new EnumMap<>(Status.class);
+
+    static {
+        for (Status status : Status.values()) {
+            if (status != Status.VALID) {
+                REJECTIONS.put(status, new TokenValidationResult(status, null));
+            }
+        }
+    }
+
+    private final Status status;
+    private final VerifiedToken token;
+
+    private TokenValidationResult(Status status, VerifiedToken token) {
+        this.status = status;
+        this.token = token;
+    }
+
+    /**
+     * Create a successful result
+     * @param token Verified token
+     * @return Valid result
+     */
+    public static TokenValidationResult valid(VerifiedToken token) {
+        return new TokenValidationResult(Status.VALID, token);
+    }
+
+    /**
+     * Get the shared result for a rejection
+     * @param status Rejection reason (not VALID)
+     * @return Rejected result
+     */
+    public static TokenValidationResult rejected(Status status) {
+        if (status == Status.VALID) {
+            throw new IllegalArgumentException("A rejection needs a failure status");
+        }
+        return REJECTIONS.get(status);
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Get the verified token
+     * @return Verified token, or empty if rejected
+     */
+    public Optional<VerifiedToken> getToken() {
+        return Optional.ofNullable(token);
+    }
+}
@@ -0,0 +1,85 @@
+// src/main/java/com/todoapp/security/TokenVersionRegistry.java
+package com.todoapp.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.todoapp.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * In-memory map of user id to current token version.
+ * Lets JwtAuthenticationFilter check a token's "tv" claim without a user lookup.
+ * Versions are loaded from the database once per user and refreshed after the TTL,
+ * which bounds how long a revocation on another node takes to be seen here.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    public static final String CACHE_NAME = "tokenVersions";
+
+    // Cached for users that don't exist or are inactive, so their tokens never match
+    private static final int REVOKED = -1;
+
+    private final LoadingCache<Long, Integer> versions;
+
+    @Autowired
+    public TokenVersionRegistry(UserRepository userRepository,
+                                @Value("${app.cache.token-versions.max-size:500000}") long maxSize,
+                                @Value("${app.cache.token-versions.ttl:5m}") Duration ttl,
+                                MeterRegistry meterRegistry) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(userId -> userRepository.findActiveTokenVersionById(userId).orElse(REVOKED));
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, CACHE_NAME);
+    }
+
+    /**
+     * Check if a token version is still current for a user
+     * @param userId User ID
+     * @param tokenVersion Version from the token's "tv" claim
+     * @return true if the version matches the user's current version
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = versions.get(userId);
+        return current != null && current != REVOKED && current == tokenVersion;
+    }
+
+    /**
+     * Forget a user's version now and again after the current transaction commits,
+     * so the next check reloads the committed value.
+     * @param userId User ID
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+
+        versions.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Forget all versions
+     */
+    public void invalidateAll() {
+        versions.invalidateAll();
+    }
+}
@@ -0,0 +1,97 @@
+// src/main/java/com/todoapp/security/UserDetailsCache.java
+package com.todoapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of authenticated principals keyed by email.
+ * Backed by Caffeine (W-TinyLFU admission) with a write TTL.
+ * Hit/miss/eviction counts are published as "cache.*" metrics with cache=userDetails.
+ */
+@Component
+public class UserDetailsCache {
+
+    public static final String CACHE_NAME = "userDetails";
+
+    private final Cache<String, AuthenticatedUser> cache;
+
+    @Autowired
+    public UserDetailsCache(@Value("${app.cache.user-details.max-size:300000}") long maxSize,
+                            @Value("${app.cache.user-details.ttl:15m}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get a cached principal, loading it on a miss.
+     * Returns a copy so credential erasure after login can't corrupt the cached entry.
+     * @param email User's email
+     * @param loader Loads the principal on a cache miss
+     * @return Authenticated principal
+     */
+    public AuthenticatedUser get(String email, Function<String, AuthenticatedUser> loader) {
+        return cache.get(email, loader).copy();
+    }
+
+    /**
+     * Evict a user's entry now and again after the current transaction commits,
+     * so a concurrent request can't re-cache the pre-commit state.
+     * @param email User's email
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+
+        cache.invalidate(email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evict all entries
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Get hit/miss/eviction statistics
+     * @return Cache statistics snapshot
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Get the approximate number of cached entries
+     * @return Entry count
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,135 @@
+// src/main/java/com/todoapp/security/VerifiedToken.java
+package com.todoapp.security;
+
+import com.todoapp.entity.User;
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * A JWT whose signature has already been verified.
+ * Wraps the parsed claims so the rest of the request can read them
+ * without parsing or verifying the token again.
+ */
+public class VerifiedToken {
+
+    // Identity claims written by JwtUtil for AuthenticatedUser principals
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_VERSION_CLAIM = "tv";
+
+    private final String token;
+    private final Claims claims;
+
+    public VerifiedToken(String token, Claims claims) {
+        this.token = token;
+        this.claims = claims;
+    }
+
+    /**
+     * Get the raw compact token string
+     * @return JWT token string
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Get all verified claims
+     * @return Token claims
+     */
+    public Claims getClaims() {
+        return claims;
+    }
+
+    /**
+     * Get the token id ("jti" claim) used for revocation
+     * @return Token ID, or null for tokens issued without one
+     */
+    public String getId() {
+        return claims.getId();
+    }
+
+    /**
+     * Get the token subject (username/email)
+     * @return Subject claim
+     */
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    /**
+     * Get the token expiration date
+     * @return Expiration date
+     */
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    /**
+     * Get the token type claim
+     * @return Token type (access/refresh), or null for plain access tokens
+     */
+    public String getTokenType() {
+        return claims.get("type", String.class);
+    }
+
+    /**
+     * Check if this is a refresh token
+     * @return true if it's a refresh token, false otherwise
+     */
+    public boolean isRefreshToken() {
+        return "refresh".equals(getTokenType());
+    }
+
+    /**
+     * Get the user id claim
+     * @return User ID, or null if the token has no identity claims
+     */
+    public Long getUserId() {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return userId != null ? userId.longValue() : null;
+    }
+
+    /**
+     * Get the role claim
+     * @return User role, or null if absent or unknown
+     */
+    public User.Role getRole() {
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (role == null) {
+            return null;
+        }
+        try {
+            return User.Role.valueOf(role);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the token version claim
+     * @return Token version, or null if absent
+     */
+    public Integer getTokenVersion() {
+        Number version = claims.get(TOKEN_VERSION_CLAIM, Number.class);
+        return version != null ? version.intValue() : null;
+    }
+
+    /**
+     * Check if the token carries the identity claims needed to build a principal without a user lookup
+     * @return true if uid, role and tv claims are all present
+     */
+    public boolean hasIdentityClaims() {
+        return getUserId() != null && getRole() != null && getTokenVersion() != null;
+    }
+
+    /**
+     * Check if the token is expired
+     * @return true if token is expired, false otherwise
+     */
+    public boolean isExpired() {
+        Date expiration = getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+}
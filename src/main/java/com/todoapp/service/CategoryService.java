@@ -0,0 +1,162 @@
+// src/main/java/com/todoapp/service/CategoryService.java
+package com.todoapp.service;
+
+import com.todoapp.entity.Category;
+import com.todoapp.entity.Todo;
+import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.TodoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Service class for the per-user category dictionary.
+ * Todo mutations resolve category names to rows and keep each row's todo count current
+ * in the mutation's own transaction, so the category list is read from the categories
+ * table alone. Renames touch one category row; merges move the todos with one UPDATE.
+ */
+@Service
+public class CategoryService {
+
+    // Matches the categories.name column
+    public static final int MAX_NAME_LENGTH = 100;
+
+    private final CategoryRepository categoryRepository;
+    private final TodoRepository todoRepository;
+    private final TodoCounterService todoCounterService;
+    private final TodoSuggestService todoSuggestService;
+
+    @Autowired
+    public CategoryService(CategoryRepository categoryRepository,
+                           TodoRepository todoRepository,
+                           TodoCounterService todoCounterService,
+                           TodoSuggestService todoSuggestService) {
+        this.categoryRepository = categoryRepository;
+        this.todoRepository = todoRepository;
+        this.todoCounterService = todoCounterService;
+        this.todoSuggestService = todoSuggestService;
+    }
+
+    /**
+     * Find the user's category with this name, creating it if needed
+     * @param userId Owner of the category
+     * @param name Category name as entered
+     * @return Category, or null for a null or blank name (no category)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Category resolve(Long userId, String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return categoryRepository.findByUserIdAndName(userId, name)
+                .orElseGet(() -> {
+                    categoryRepository.insertIfAbsent(userId, name);
+                    return categoryRepository.findByUserIdAndName(userId, name).orElseThrow();
+                });
+    }
+
+    /**
+     * Count a new todo in its category
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Category category) {
+        if (category != null) {
+            categoryRepository.adjustTodoCount(category.getId(), 1);
+        }
+    }
+
+    /**
+     * Move a todo's count when its category changed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanged(Category before, Category after) {
+        Integer beforeId = before != null ? before.getId() : null;
+        Integer afterId = after != null ? after.getId() : null;
+        if (Objects.equals(beforeId, afterId)) {
+            return;
+        }
+        if (beforeId != null) {
+            categoryRepository.adjustTodoCount(beforeId, -1);
+        }
+        if (afterId != null) {
+            categoryRepository.adjustTodoCount(afterId, 1);
+        }
+    }
+
+    /**
+     * Uncount deleted todos, one update per category
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Collection<Todo> todos) {
+        Map<Integer, Integer> deltas = new HashMap<>();
+        for (Todo todo : todos) {
+            if (todo.getCategory() != null) {
+                deltas.merge(todo.getCategory().getId(), -1, Integer::sum);
+            }
+        }
+        deltas.forEach(categoryRepository::adjustTodoCount);
+    }
+
+    /**
+     * Names of the user's categories that have todos, sorted
+     * @param userId User ID
+     * @return Category names
+     */
+    @Transactional(readOnly = true)
+    public List<String> getCategoryNames(Long userId) {
+        return categoryRepository.findNamesInUseByUserId(userId);
+    }
+
+    /**
+     * Rename a category. If the user already has a category with the new name, the two are merged.
+     * @param userId User ID
+     * @param from Current name
+     * @param to New name
+     * @return Number of todos now in the category under its new name
+     * @throws IllegalArgumentException if a name is blank or too long, or the category does not exist
+     */
+    @Transactional
+    public int rename(Long userId, String from, String to) {
+        if (from == null || from.isBlank() || to == null || to.isBlank()) {
+            throw new IllegalArgumentException("Both category names are required");
+        }
+        if (to.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Category must not exceed " + MAX_NAME_LENGTH + " characters");
+        }
+
+        Category source = categoryRepository.findByUserIdAndName(userId, from)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found: " + from));
+        if (from.equals(to)) {
+            return source.getTodoCount();
+        }
+
+        Integer renamedId;
+        Optional<Category> existing = categoryRepository.findByUserIdAndName(userId, to);
+        if (existing.isEmpty()) {
+            // Todos reference the row by id, so they follow without being touched
+            categoryRepository.rename(userId, from, to);
+            renamedId = source.getId();
+        } else {
+            Category target = existing.get();
+            int moved = todoRepository.reassignCategory(source, target, LocalDateTime.now());
+            categoryRepository.adjustTodoCount(target.getId(), moved);
+            categoryRepository.deleteById(source.getId());
+            renamedId = target.getId();
+        }
+
+        todoCounterService.recordCategoryRenamed(userId, from, to);
+        todoSuggestService.invalidate(userId);
+
+        // Both bulk updates cleared the persistence context, so this reads the updated count
+        return categoryRepository.findById(renamedId).map(Category::getTodoCount).orElse(0);
+    }
+}
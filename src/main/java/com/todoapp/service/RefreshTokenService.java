@@ -0,0 +1,134 @@
+// src/main/java/com/todoapp/service/RefreshTokenService.java
+package com.todoapp.service;
+
+import com.todoapp.entity.RefreshToken;
+import com.todoapp.repository.RefreshTokenRepository;
+import com.todoapp.security.AuthenticatedUser;
+import com.todoapp.security.VerifiedToken;
+import com.todoapp.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service class for server-side refresh token sessions.
+ * Refresh tokens are one-time use: every refresh rotates the stored hash and records the
+ * spent one, and presenting any token the session has already spent revokes the whole session.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtUtil jwtUtil;
+    private final int purgeBatchSize;
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               JwtUtil jwtUtil,
+                               @Value("${app.auth.refresh-tokens.purge-batch-size:1000}") int purgeBatchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtUtil = jwtUtil;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    /**
+     * Start a new refresh token session (login/register)
+     * @param user Authenticated user
+     * @return Signed refresh token
+     */
+    public String issue(AuthenticatedUser user) {
+        String tokenId = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plusMillis(jwtUtil.getRefreshExpirationTime());
+
+        refreshTokenRepository.save(new RefreshToken(user.getId(), hash(tokenId), expiresAt));
+        return jwtUtil.generateRefreshToken(user, tokenId);
+    }
+
+    /**
+     * Exchange a verified refresh token for a new one.
+     * Costs a conditional UPDATE and one INSERT of the spent hash when the token is current.
+     * @param presented Verified refresh token
+     * @param user Token owner
+     * @return New refresh token, or empty if the token is unknown, expired or was already used
+     */
+    @Transactional
+    public Optional<String> rotate(VerifiedToken presented, AuthenticatedUser user) {
+        String presentedHash = hash(presented.getId());
+        String newTokenId = UUID.randomUUID().toString();
+        String newHash = hash(newTokenId);
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusMillis(jwtUtil.getRefreshExpirationTime());
+
+        if (refreshTokenRepository.rotate(presentedHash, newHash, expiresAt, now) == 1) {
+            Date spentExpiresAt = presented.getExpiration();
+            refreshTokenRepository.recordSpent(presentedHash,
+                    spentExpiresAt != null ? spentExpiresAt.toInstant() : expiresAt, newHash);
+            return Optional.of(jwtUtil.generateRefreshToken(user, newTokenId));
+        }
+
+        // A valid signature on a token the session already spent means it was copied; kill the session
+        if (refreshTokenRepository.deleteBySpentTokenHash(presentedHash) > 0) {
+            logger.warn("Refresh token reuse detected for user {}; session revoked", user.getId());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Revoke a refresh token session (logout)
+     * @param token Verified refresh token
+     */
+    public void revoke(VerifiedToken token) {
+        refreshTokenRepository.deleteByTokenHash(hash(token.getId()));
+    }
+
+    /**
+     * Remove expired sessions in bounded batches so the purge never holds long locks
+     */
+    @Scheduled(fixedDelayString = "${app.auth.refresh-tokens.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+
+        long spent = 0;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredSpentBatch(now, purgeBatchSize);
+            spent += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (total > 0 || spent > 0) {
+            logger.info("Purged {} expired refresh tokens and {} expired spent token hashes", total, spent);
+        }
+    }
+
+    /**
+     * SHA-256 of a token id, hex encoded
+     */
+    static String hash(String tokenId) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(tokenId.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+// src/main/java/com/todoapp/service/TodoCounterService.java
+package com.todoapp.service;
+
+import com.todoapp.dto.TodoStatsDTO;
+import com.todoapp.entity.Todo;
+import com.todoapp.entity.UserTodoCounter;
+import com.todoapp.entity.UserTodoCounter.Dimension;
+import com.todoapp.repository.TodoRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.repository.UserTodoCounterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service class for the user_todo_counters table.
+ * Every todo mutation applies its deltas in the mutation's own transaction, always starting
+ * with the user's TOTAL row, whose row lock serializes counter updates per user.
+ * Deltas are computed from the todo's before-image, so callers must read it under the
+ * user's lock (TodoService takes the users row lock before loading the todo); the TOTAL
+ * row lock alone is taken too late to keep two mutations from reading the same image.
+ * Users without counters are seeded from an aggregate query on their first mutation.
+ * A scheduled job compares counters with the todos table in batches of users and
+ * rewrites the counters of any user that drifted.
+ */
+@Service
+public class TodoCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoCounterService.class);
+
+    private static final String NO_CATEGORY = "";
+    private static final CounterKey TOTAL = new CounterKey(Dimension.TOTAL, "");
+
+    private final UserTodoCounterRepository counterRepository;
+    private final TodoRepository todoRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int reconcileBatchSize;
+    private final Counter repairedUsers;
+
+    @Autowired
+    public TodoCounterService(UserTodoCounterRepository counterRepository,
+                              TodoRepository todoRepository,
+                              UserRepository userRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.stats.counters.reconcile-batch-size:500}") int reconcileBatchSize,
+                              MeterRegistry meterRegistry) {
+        this.counterRepository = counterRepository;
+        this.todoRepository = todoRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileBatchSize = reconcileBatchSize;
+        this.repairedUsers = Counter.builder("todo.counters.repaired")
+                .description("Users whose todo counters were rewritten by reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counted fields of a todo, captured before it is modified
+     */
+    public record Snapshot(Todo.Priority priority, String category, boolean completed) {
+
+        public static Snapshot of(Todo todo) {
+            return new Snapshot(todo.getPriority(), todo.getCategoryName(), Boolean.TRUE.equals(todo.getCompleted()));
+        }
+    }
+
+    /**
+     * Count a newly created todo
+     * @param userId Owner of the todo
+     * @param todo Saved todo
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Long userId, Todo todo) {
+        Map<CounterKey, long[]> deltas = new LinkedHashMap<>();
+        addCounts(deltas, Snapshot.of(todo), 1);
+        apply(userId, deltas);
+    }
+
+    /**
+     * Move a modified todo between counters
+     * @param userId Owner of the todo
+     * @param before Counted fields before the change
+     * @param after Modified todo
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanged(Long userId, Snapshot before, Todo after) {
+        Map<CounterKey, long[]> deltas = new LinkedHashMap<>();
+        addCounts(deltas, before, -1);
+        addCounts(deltas, Snapshot.of(after), 1);
+        apply(userId, deltas);
+    }
+
+    /**
+     * Uncount deleted todos
+     * @param userId Owner of the todos
+     * @param todos Deleted todos
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long userId, Collection<Todo> todos) {
+        if (todos.isEmpty()) {
+            return;
+        }
+        Map<CounterKey, long[]> deltas = new LinkedHashMap<>();
+        for (Todo todo : todos) {
+            addCounts(deltas, Snapshot.of(todo), -1);
+        }
+        apply(userId, deltas);
+    }
+
+    /**
+     * Move a category's counts to its new name; merged into the new name's row if it exists
+     * @param userId Owner of the category
+     * @param oldName Previous category name
+     * @param newName New category name
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCategoryRenamed(Long userId, String oldName, String newName) {
+        if (counterRepository.lockTotal(userId, Dimension.TOTAL).isEmpty()) {
+            // Not seeded yet; seeding counts the todos under their current category
+            return;
+        }
+        counterRepository.findById(new UserTodoCounter.Key(userId, Dimension.CATEGORY, oldName))
+                .ifPresent(row -> {
+                    increment(userId, new CounterKey(Dimension.CATEGORY, newName),
+                            new long[]{row.getTotal(), row.getCompleted()});
+                    counterRepository.delete(row);
+                });
+    }
+
+    /**
+     * Read a user's stats from the counters, plus an overdue count over the overdue rows only
+     * (overdue depends on the clock, so it cannot be maintained incrementally)
+     * @param userId User ID
+     * @param now Current time for the overdue check
+     * @return Stats, or empty if the user's counters have not been seeded yet
+     */
+    public Optional<TodoStatsDTO> getStats(Long userId, LocalDateTime now) {
+        List<UserTodoCounter> rows = counterRepository.findByUserId(userId);
+        UserTodoCounter totals = rows.stream()
+                .filter(row -> row.getDimension() == Dimension.TOTAL)
+                .findFirst()
+                .orElse(null);
+        if (totals == null) {
+            return Optional.empty();
+        }
+
+        TodoStatsDTO stats = new TodoStatsDTO(totals.getTotal(), totals.getCompleted(),
+                totals.getTotal() - totals.getCompleted(), 0);
+        for (UserTodoCounter row : rows) {
+            if (row.getDimension() == Dimension.PRIORITY) {
+                stats.addPriorityCounts(row.getDimKey(), row.getTotal(), row.getCompleted(), 0);
+            } else if (row.getDimension() == Dimension.CATEGORY && row.getTotal() > 0) {
+                stats.addCategoryCounts(NO_CATEGORY.equals(row.getDimKey()) ? null : row.getDimKey(),
+                        row.getTotal(), row.getCompleted(), 0);
+            }
+        }
+
+        for (Object[] row : todoRepository.aggregateOverdueByUserId(userId, now)) {
+            Todo.Priority priority = (Todo.Priority) row[0];
+            String category = categoryKey((String) row[1]);
+            stats.addOverdue(priority != null ? priority.name() : null,
+                    NO_CATEGORY.equals(category) ? null : category,
+                    ((Number) row[2]).longValue());
+        }
+        return Optional.of(stats);
+    }
+
+    /**
+     * Compare every user's counters with their todos and repair drift, in batches of users
+     */
+    @Scheduled(fixedDelayString = "${app.stats.counters.reconcile-interval-ms:3600000}",
+            initialDelayString = "${app.stats.counters.reconcile-initial-delay-ms:60000}")
+    public void reconcile() {
+        long checked = 0;
+        int repaired = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, reconcileBatchSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            repaired += reconcileBatch(userIds);
+            checked += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+        }
+
+        if (repaired > 0) {
+            logger.warn("Repaired todo counters of {} out of {} users", repaired, checked);
+        }
+    }
+
+    /**
+     * Reconcile one batch of users: one aggregate query and one counter read for the batch,
+     * then a locked rewrite for each user whose counters differ
+     * @param userIds Users to check
+     * @return Number of users whose counters were rewritten
+     */
+    public int reconcileBatch(List<Long> userIds) {
+        Map<Long, Map<CounterKey, long[]>> expected = foldTodoCounts(todoRepository.aggregateCountsByUserIds(userIds));
+        Map<Long, Map<CounterKey, long[]>> actual = foldCounters(counterRepository.findByUserIdIn(userIds));
+
+        int repaired = 0;
+        for (Long userId : userIds) {
+            if (!sameCounts(expected.get(userId), actual.get(userId))
+                    && Boolean.TRUE.equals(transactionTemplate.execute(status -> repair(userId)))) {
+                repaired++;
+            }
+        }
+        repairedUsers.increment(repaired);
+        return repaired;
+    }
+
+    /**
+     * Rewrite a user's counters from their todos while holding the TOTAL row lock,
+     * so no counter update for this user can interleave
+     */
+    private boolean repair(Long userId) {
+        if (counterRepository.lockTotal(userId, Dimension.TOTAL).isEmpty()
+                && counterRepository.insertIfAbsent(userId, Dimension.TOTAL.name(), "") == 0) {
+            // Another transaction is seeding this user right now
+            return false;
+        }
+
+        Map<CounterKey, long[]> truth = countTodos(userId);
+        Map<CounterKey, long[]> current = foldCounters(counterRepository.findByUserId(userId)).get(userId);
+        if (sameCounts(truth, current)) {
+            // The difference was a mutation that committed after the batch was read
+            return false;
+        }
+
+        counterRepository.resetByUserId(userId);
+        write(userId, truth);
+        counterRepository.deleteEmptyByUserId(userId, Dimension.TOTAL);
+        return true;
+    }
+
+    /**
+     * Apply deltas, TOTAL row first. A user without a TOTAL row is seeded from their todos
+     * instead; that count already includes the current mutation.
+     */
+    private void apply(Long userId, Map<CounterKey, long[]> deltas) {
+        long[] total = deltas.getOrDefault(TOTAL, new long[2]);
+        if (counterRepository.increment(userId, Dimension.TOTAL, "", total[0], total[1]) == 0) {
+            if (counterRepository.insertIfAbsent(userId, Dimension.TOTAL.name(), "") == 1) {
+                write(userId, countTodos(userId));
+                return;
+            }
+            counterRepository.increment(userId, Dimension.TOTAL, "", total[0], total[1]);
+        }
+
+        for (Map.Entry<CounterKey, long[]> entry : deltas.entrySet()) {
+            long[] delta = entry.getValue();
+            if (entry.getKey().equals(TOTAL) || (delta[0] == 0 && delta[1] == 0)) {
+                continue;
+            }
+            increment(userId, entry.getKey(), delta);
+        }
+    }
+
+    /**
+     * Add counts to rows that may not exist yet; assumes the TOTAL row exists
+     */
+    private void write(Long userId, Map<CounterKey, long[]> counts) {
+        for (Map.Entry<CounterKey, long[]> entry : counts.entrySet()) {
+            increment(userId, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void increment(Long userId, CounterKey key, long[] delta) {
+        if (counterRepository.increment(userId, key.dimension(), key.key(), delta[0], delta[1]) == 0) {
+            counterRepository.insertIfAbsent(userId, key.dimension().name(), key.key());
+            counterRepository.increment(userId, key.dimension(), key.key(), delta[0], delta[1]);
+        }
+    }
+
+    private Map<CounterKey, long[]> countTodos(Long userId) {
+        return foldTodoCounts(todoRepository.aggregateCountsByUserIds(List.of(userId)))
+                .getOrDefault(userId, Map.of());
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * Counter rows a todo contributes to: TOTAL, its priority and its category
+     */
+    private static void addCounts(Map<CounterKey, long[]> counts, Snapshot todo, long sign) {
+        long completed = todo.completed() ? sign : 0;
+        merge(counts, TOTAL, sign, completed);
+        if (todo.priority() != null) {
+            merge(counts, new CounterKey(Dimension.PRIORITY, todo.priority().name()), sign, completed);
+        }
+        merge(counts, new CounterKey(Dimension.CATEGORY, categoryKey(todo.category())), sign, completed);
+    }
+
+    private static void merge(Map<CounterKey, long[]> counts, CounterKey key, long total, long completed) {
+        long[] value = counts.computeIfAbsent(key, k -> new long[2]);
+        value[0] += total;
+        value[1] += completed;
+    }
+
+    /**
+     * Rows of [userId, priority, category, total, completed] folded into counter values per user
+     */
+    private static Map<Long, Map<CounterKey, long[]>> foldTodoCounts(List<Object[]> rows) {
+        Map<Long, Map<CounterKey, long[]>> byUser = new HashMap<>();
+        for (Object[] row : rows) {
+            Map<CounterKey, long[]> counts = byUser.computeIfAbsent((Long) row[0], id -> new LinkedHashMap<>());
+            Todo.Priority priority = (Todo.Priority) row[1];
+            long total = ((Number) row[3]).longValue();
+            long completed = row[4] != null ? ((Number) row[4]).longValue() : 0;
+
+            merge(counts, TOTAL, total, completed);
+            if (priority != null) {
+                merge(counts, new CounterKey(Dimension.PRIORITY, priority.name()), total, completed);
+            }
+            merge(counts, new CounterKey(Dimension.CATEGORY, categoryKey((String) row[2])), total, completed);
+        }
+        return byUser;
+    }
+
+    private static Map<Long, Map<CounterKey, long[]>> foldCounters(List<UserTodoCounter> rows) {
+        Map<Long, Map<CounterKey, long[]>> byUser = new HashMap<>();
+        for (UserTodoCounter row : rows) {
+            byUser.computeIfAbsent(row.getUserId(), id -> new LinkedHashMap<>())
+                    .put(new CounterKey(row.getDimension(), row.getDimKey()),
+                            new long[]{row.getTotal(), row.getCompleted()});
+        }
+        return byUser;
+    }
+
+    /**
+     * Compare counts, treating zero rows and missing rows as equal
+     */
+    private static boolean sameCounts(Map<CounterKey, long[]> expected, Map<CounterKey, long[]> actual) {
+        return nonZero(expected).equals(nonZero(actual));
+    }
+
+    private static Map<CounterKey, List<Long>> nonZero(Map<CounterKey, long[]> counts) {
+        Map<CounterKey, List<Long>> result = new HashMap<>();
+        if (counts != null) {
+            counts.forEach((key, value) -> {
+                if (value[0] != 0 || value[1] != 0) {
+                    result.put(key, List.of(value[0], value[1]));
+                }
+            });
+        }
+        return result;
+    }
+
+    private static String categoryKey(String category) {
+        return category == null || category.isBlank() ? NO_CATEGORY : category;
+    }
+
+    /**
+     * One counter row of a user
+     */
+    private record CounterKey(Dimension dimension, String key) {}
+}
@@ -0,0 +1,445 @@
+// src/main/java/com/todoapp/service/TodoPushService.java
+package com.todoapp.service;
+
+import com.todoapp.config.ReplicaRoutingDataSource;
+import com.todoapp.dto.TodoChangesDTO;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.util.SyncToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events push of todo changes.
+ * Each event is a delta sync ({@link TodoSyncService#getChanges}) whose id is the sync token,
+ * so a reconnecting client resumes with Last-Event-ID and misses nothing. An idle connection
+ * holds only its emitter and a few fields; no thread waits on it. Each connection has at most
+ * one send in flight: changes that arrive meanwhile are coalesced into the next delta.
+ * A send reads its delta on a small shared pool that never touches a socket, then writes it on
+ * a bounded writer pool. Emitter writes block while holding the emitter's monitor, so they run
+ * on platform threads, not virtual threads, where a client that stops reading would pin a
+ * carrier. A healthy write returns as soon as the event is in the socket buffer, so busy writers
+ * track the clients that stopped reading: each holds one writer until the container's write
+ * timeout (server.tomcat.connection-timeout) fails the write, and the heartbeat stops
+ * dispatching to it after the slow-client timeout without waiting on its monitor. When every
+ * writer is busy and the queue is full, heartbeats are skipped and streams with changes to send
+ * are closed; their clients resume with Last-Event-ID.
+ * Commits on this node are pushed right away; the heartbeat sweep checks every connected
+ * user's todos version, which picks up commits made on other nodes.
+ */
+@Service
+public class TodoPushService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoPushService.class);
+
+    public static final String EVENT_NAME = "changes";
+
+    private final TodoSyncService todoSyncService;
+    private final UserRepository userRepository;
+    // Most users have one connection; immutable lists keep that to a single small object
+    private final Map<Long, List<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ThreadPoolExecutor reader;
+    private final ThreadPoolExecutor writer;
+    private final int maxConnections;
+    private final int maxConnectionsPerUser;
+    private final long maxLifetimeMillis;
+    private final long slowClientTimeoutNanos;
+    private final int sweepBatchSize;
+    private final Counter slowClientsDropped;
+
+    @Autowired
+    public TodoPushService(TodoSyncService todoSyncService,
+                           UserRepository userRepository,
+                           @Value("${app.push.max-connections:100000}") int maxConnections,
+                           @Value("${app.push.max-connections-per-user:5}") int maxConnectionsPerUser,
+                           @Value("${app.push.max-lifetime:30m}") Duration maxLifetime,
+                           @Value("${app.push.slow-client-timeout:30s}") Duration slowClientTimeout,
+                           @Value("${app.push.sweep-batch-size:1000}") int sweepBatchSize,
+                           @Value("${app.push.reader-threads:16}") int readerThreads,
+                           @Value("${app.push.writer-threads:256}") int writerThreads,
+                           @Value("${app.push.writer-queue-capacity:10000}") int writerQueueCapacity,
+                           MeterRegistry meterRegistry) {
+        this.todoSyncService = todoSyncService;
+        this.userRepository = userRepository;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerUser = Math.max(1, maxConnectionsPerUser);
+        this.maxLifetimeMillis = maxLifetime.toMillis();
+        this.slowClientTimeoutNanos = slowClientTimeout.toNanos();
+        this.sweepBatchSize = sweepBatchSize;
+
+        // Each connection has at most one send queued or running, so the queue is bounded by max-connections
+        this.reader = new ThreadPoolExecutor(
+                readerThreads, readerThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                threadFactory("todo-push-read-")
+        );
+        // Bounded so stalled clients cannot grow the pool past writer-threads; idle writers expire
+        this.writer = new ThreadPoolExecutor(
+                writerThreads, writerThreads,
+                60L, TimeUnit.SECONDS,
+                writerQueueCapacity > 0 ? new ArrayBlockingQueue<>(writerQueueCapacity) : new SynchronousQueue<>(),
+                threadFactory("todo-push-write-")
+        );
+        this.writer.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("todo.push.connections", connectionCount, AtomicInteger::get)
+                .description("Open todo change streams on this node")
+                .register(meterRegistry);
+        this.slowClientsDropped = Counter.builder("todo.push.slow.clients")
+                .description("Todo change streams closed because the client stopped reading")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a change stream. The first event carries the changes since the token (everything
+     * if it is null or too old to delta from). Opening more than max-connections-per-user
+     * closes the user's oldest stream.
+     * @param userId User ID
+     * @param since Last event id or sync token the client already has, or null
+     * @return Emitter for the response, or empty if this node is at max-connections
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public Optional<SseEmitter> connect(Long userId, String since) {
+        if (since != null && !since.isEmpty()) {
+            SyncToken.decode(since);
+        }
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = createEmitter(maxLifetimeMillis);
+        Connection connection = new Connection(userId, emitter, since);
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(e -> unregister(connection));
+
+        List<Connection> evicted = new ArrayList<>(1);
+        connections.compute(userId, (id, existing) -> {
+            List<Connection> updated = new ArrayList<>(existing != null ? existing : List.of());
+            updated.add(connection);
+            while (updated.size() > maxConnectionsPerUser) {
+                evicted.add(updated.remove(0));
+            }
+            return List.copyOf(updated);
+        });
+        evicted.forEach(this::close);
+
+        notify(connection);
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Push the user's changes to their open streams once the current transaction commits
+     */
+    public void publishAfterCommit(Long userId) {
+        if (!connections.containsKey(userId)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(userId);
+                }
+            });
+        } else {
+            publish(userId);
+        }
+    }
+
+    /**
+     * Push the user's changes to their open streams now
+     */
+    public void publish(Long userId) {
+        for (Connection connection : connections.getOrDefault(userId, List.of())) {
+            notify(connection);
+        }
+    }
+
+    /**
+     * Heartbeat sweep: push changes to streams behind their user's todos version (commits
+     * on other nodes), send a comment on the rest so proxies keep them open, and drop
+     * streams stuck on one send for longer than the slow-client timeout
+     */
+    @Scheduled(fixedDelayString = "${app.push.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        List<Long> userIds = new ArrayList<>(connections.keySet());
+        for (int from = 0; from < userIds.size(); from += sweepBatchSize) {
+            List<Long> batch = userIds.subList(from, Math.min(from + sweepBatchSize, userIds.size()));
+            Map<Long, Long> versions = new HashMap<>();
+            try {
+                for (Object[] row : userRepository.findTodosVersionsByIds(batch)) {
+                    versions.put((Long) row[0], (Long) row[1]);
+                }
+            } catch (Exception e) {
+                // Still send heartbeats; the next sweep checks versions again
+                logger.warn("Failed to check todos versions for push: {}", e.getMessage());
+            }
+
+            long now = System.nanoTime();
+            for (Long userId : batch) {
+                Long version = versions.get(userId);
+                for (Connection connection : connections.getOrDefault(userId, List.of())) {
+                    if (connection.busy.get()) {
+                        if (now - connection.busySince > slowClientTimeoutNanos) {
+                            slowClientsDropped.increment();
+                            close(connection);
+                        }
+                    } else if (version != null && version > connection.version) {
+                        notify(connection);
+                    } else {
+                        dispatch(connection, true);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of open streams on this node
+     */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Close every open stream; clients reconnect (to another node) with their last event id
+     */
+    @PreDestroy
+    public void closeAll() {
+        connections.values().forEach(list -> list.forEach(this::close));
+        reader.shutdown();
+        writer.shutdown();
+    }
+
+    /**
+     * Number of writes in flight
+     */
+    int getActiveWriteCount() {
+        return writer.getActiveCount();
+    }
+
+    /**
+     * Most writer threads ever alive at once
+     */
+    int getLargestWriterPoolSize() {
+        return writer.getLargestPoolSize();
+    }
+
+    /**
+     * Emitter for a new stream; overridden in tests to simulate clients
+     */
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void notify(Connection connection) {
+        connection.pending = true;
+        dispatch(connection, false);
+    }
+
+    /**
+     * Start a send unless one is already running for this connection; a running send picks up
+     * pending changes before it finishes
+     */
+    private void dispatch(Connection connection, boolean heartbeat) {
+        if (connection.closed.get() || !connection.busy.compareAndSet(false, true)) {
+            return;
+        }
+        connection.busySince = System.nanoTime();
+        try {
+            if (heartbeat && !connection.pending) {
+                writer.execute(() -> write(connection, SseEmitter.event().comment("heartbeat"), null));
+            } else {
+                reader.execute(() -> read(connection));
+            }
+        } catch (RejectedExecutionException e) {
+            // Shutting down, or every writer is busy: skip this heartbeat, the next sweep retries
+            connection.busy.set(false);
+        }
+    }
+
+    /**
+     * Read the delta since the connection's last event and hand it to a writer.
+     * Runs on the shared reader pool, so it must never block on the client.
+     */
+    private void read(Connection connection) {
+        try {
+            if (connection.closed.get()) {
+                finish(connection);
+                return;
+            }
+            connection.pending = false;
+            // Pushed right after the user's commit, which a replica may not have applied yet;
+            // this thread has no security context to keep the read on the primary
+            String since = connection.token;
+            TodoChangesDTO changes = ReplicaRoutingDataSource.readAs(connection.userId,
+                    () -> todoSyncService.getChanges(connection.userId, since));
+            if (changes.isFull() || !changes.getChanged().isEmpty() || !changes.getDeleted().isEmpty()) {
+                try {
+                    writer.execute(() -> write(connection, SseEmitter.event()
+                            .id(changes.getToken())
+                            .name(EVENT_NAME)
+                            .data(changes, MediaType.APPLICATION_JSON), changes.getToken()));
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // Writers are saturated by clients that stopped reading; this client resumes elsewhere
+                    if (!writer.isShutdown()) {
+                        slowClientsDropped.increment();
+                    }
+                    close(connection);
+                    finish(connection);
+                    return;
+                }
+            }
+            advance(connection, changes.getToken());
+        } catch (Exception e) {
+            logger.debug("Closing todo change stream for user {}: {}", connection.userId, e.getMessage());
+            close(connection);
+        }
+        finish(connection);
+    }
+
+    /**
+     * Write one event on a writer thread; a client that stopped reading blocks only this
+     * thread, until the container's write timeout fails the write
+     * @param token Sync token the event brings the client up to, or null for a heartbeat
+     */
+    private void write(Connection connection, SseEmitter.SseEventBuilder event, String token) {
+        try {
+            if (!connection.closed.get()) {
+                connection.emitter.send(event);
+                if (token != null) {
+                    advance(connection, token);
+                }
+            }
+        } catch (Exception e) {
+            // Usually the client went away; it resumes from its last event id
+            logger.debug("Closing todo change stream for user {}: {}", connection.userId, e.getMessage());
+            close(connection);
+        }
+        finish(connection);
+    }
+
+    private static void advance(Connection connection, String token) {
+        connection.token = token;
+        connection.version = SyncToken.decode(token).getVersion();
+    }
+
+    /**
+     * End the connection's send: complete the emitter if it was closed meanwhile, or start the
+     * next send if changes arrived while this one was in flight
+     */
+    private void finish(Connection connection) {
+        connection.busy.set(false);
+        if (connection.closed.get()) {
+            // Closed while this send was in flight; its emitter was left for this thread to complete
+            complete(connection);
+            return;
+        }
+        // A change may have arrived after the read, while busy was still set
+        if (connection.pending) {
+            dispatch(connection, false);
+        }
+    }
+
+    /**
+     * Unregister now and complete the emitter, unless a send is in flight: completing waits for
+     * the emitter's monitor, which a send blocked on a slow client holds until its write fails.
+     * The send completes the emitter itself once it returns.
+     */
+    private void close(Connection connection) {
+        unregister(connection);
+        if (!connection.busy.get()) {
+            complete(connection);
+        }
+    }
+
+    private void complete(Connection connection) {
+        if (!connection.completed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            connection.emitter.complete();
+        } catch (Exception e) {
+            logger.debug("Failed to complete todo change stream for user {}: {}", connection.userId, e.getMessage());
+        }
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private void unregister(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.computeIfPresent(connection.userId, (id, existing) -> {
+            if (!existing.contains(connection)) {
+                return existing;
+            }
+            List<Connection> updated = new ArrayList<>(existing);
+            updated.remove(connection);
+            return updated.isEmpty() ? null : List.copyOf(updated);
+        });
+        connectionCount.decrementAndGet();
+    }
+
+    /**
+     * One open stream and the sync position of its last event
+     */
+    private static final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private volatile String token;
+        private volatile long version = -1;
+        private volatile boolean pending;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile long busySince;
+
+        Connection(Long userId, SseEmitter emitter, String token) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.token = token;
+        }
+    }
+}
@@ -1,14 +1,22 @@
 // src/main/java/com/todoapp/service/TodoService.java
 package com.todoapp.service;
 
+import com.todoapp.dto.TodoChangesDTO;
+import com.todoapp.dto.TodoPageDTO;
 import com.todoapp.dto.TodoRequestDTO;
 import com.todoapp.dto.TodoResponseDTO;
 import com.todoapp.dto.TodoStatsDTO;
+import com.todoapp.entity.Category;
 import com.todoapp.entity.Todo;
 import com.todoapp.entity.User;
 import com.todoapp.repository.TodoRepository;
+import com.todoapp.repository.TodoSearchRepository;
 import com.todoapp.repository.UserRepository;
+import com.todoapp.util.LikePatterns;
+import com.todoapp.util.PageCursor;
+import com.todoapp.util.SearchCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,7 +24,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service layer for Todo business logic with user authentication support.
@@ -26,44 +36,191 @@ import java.util.stream.Collectors;
 @Transactional
 public class TodoService {
 
+    // Keyset pagination page sizes
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // Longer search input is rejected rather than parsed
+    public static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
     private final TodoRepository todoRepository;
     private final UserRepository userRepository;
+    private final TodoCounterService todoCounterService;
+    private final TodoSuggestService todoSuggestService;
+    private final CategoryService categoryService;
+    private final TodoSyncService todoSyncService;
+    private final TodoPushService todoPushService;
 
     @Autowired
-    public TodoService(TodoRepository todoRepository, UserRepository userRepository) {
+    public TodoService(TodoRepository todoRepository, UserRepository userRepository,
+                       TodoCounterService todoCounterService, TodoSuggestService todoSuggestService,
+                       CategoryService categoryService, TodoSyncService todoSyncService,
+                       TodoPushService todoPushService) {
         this.todoRepository = todoRepository;
         this.userRepository = userRepository;
+        this.todoCounterService = todoCounterService;
+        this.todoSuggestService = todoSuggestService;
+        this.categoryService = categoryService;
+        this.todoSyncService = todoSyncService;
+        this.todoPushService = todoPushService;
     }
 
     // ==================== EXISTING METHODS ====================
 
+    /**
+     * How the search parameter of the todo list matches todos
+     */
+    public enum SearchMode {
+        CONTAINS,  // Title or description contains the text, newest first
+        FUZZY      // Title fragments and misspellings, best match first
+    }
+
     /**
      * Get all todos for a specific user with optional filtering
      */
+    @Transactional(readOnly = true)
     public List<TodoResponseDTO> getUserTodos(Long userId, Boolean completed, Todo.Priority priority,
                                               String category, String search) {
-        List<Todo> todos;
+        return getUserTodos(userId, completed, priority, category, search, SearchMode.CONTAINS);
+    }
 
+    /**
+     * Get all todos for a specific user with optional filtering and the given search mode.
+     * FUZZY returns at most MAX_PAGE_SIZE best matches and honours the filters.
+     * @throws IllegalArgumentException if a FUZZY search is longer than MAX_SEARCH_QUERY_LENGTH
+     */
+    @Transactional(readOnly = true)
+    public List<TodoResponseDTO> getUserTodos(Long userId, Boolean completed, Todo.Priority priority,
+                                              String category, String search, SearchMode searchMode) {
         if (search != null && !search.trim().isEmpty()) {
-            todos = todoRepository.findByUserIdAndTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-                    userId, search, search);
+            if (searchMode == SearchMode.FUZZY) {
+                checkSearchQueryLength(search);
+                return todoRepository.fuzzySearchByUserId(
+                                userId, search.trim(), completed, priority, category, null, MAX_PAGE_SIZE)
+                        .stream().map(TodoSearchRepository.SearchHit::todo).toList();
+            }
+            return todoRepository.searchResponsesByUserId(userId, LikePatterns.contains(search));
         } else if (completed != null || priority != null || category != null) {
-            todos = todoRepository.findByUserIdWithFilters(userId, completed, priority, category);
+            return todoRepository.findResponsesByUserIdWithFilters(userId, completed, priority, category);
         } else {
-            todos = todoRepository.findByUserIdOrderByCreatedAtDesc(userId);
+            return todoRepository.findResponsesByUserId(userId);
         }
+    }
 
-        return todos.stream()
-                .map(TodoResponseDTO::new)
-                .collect(Collectors.toList());
+    /**
+     * Pass every todo of a user to a consumer, one at a time, with the same filtering and
+     * search as getUserTodos. Rows are read through a JDBC cursor and never collected, so
+     * memory use does not grow with the number of todos. The consumer runs inside this
+     * read-only transaction, which holds a pooled connection until it returns; a consumer
+     * that throws ends the stream and releases the connection.
+     * @param consumer Receives each todo, in list order
+     */
+    @Transactional(readOnly = true)
+    public void streamUserTodos(Long userId, Boolean completed, Todo.Priority priority, String category,
+                                String search, SearchMode searchMode, Consumer<TodoResponseDTO> consumer) {
+        if (search != null && !search.trim().isEmpty()) {
+            if (searchMode == SearchMode.FUZZY) {
+                // Already bounded to MAX_PAGE_SIZE best matches
+                getUserTodos(userId, completed, priority, category, search, searchMode).forEach(consumer);
+                return;
+            }
+            // Like getUserTodos, a text search ignores the other filters
+            completed = null;
+            priority = null;
+            category = null;
+        }
+        String searchPattern = search != null && !search.trim().isEmpty() ? LikePatterns.contains(search) : null;
+
+        try (Stream<TodoResponseDTO> todos = todoRepository.streamResponsesByUserId(
+                userId, completed, priority, category, searchPattern)) {
+            todos.forEach(consumer);
+        }
+    }
+
+    /**
+     * Get one page of a user's todos, newest first, with optional filtering and search.
+     * Uses keyset pagination over (createdAt, id), so every page costs the same
+     * index range scan no matter how deep the client has paged.
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Page size (defaults to DEFAULT_PAGE_SIZE, capped at MAX_PAGE_SIZE)
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public TodoPageDTO getUserTodosPage(Long userId, Boolean completed, Todo.Priority priority,
+                                        String category, String search, String cursor, Integer limit) {
+        return getUserTodosPage(userId, completed, priority, category, search, SearchMode.CONTAINS, cursor, limit);
+    }
+
+    /**
+     * Get one page of a user's todos with the given search mode.
+     * FUZZY search pages are ordered by match quality and use a search cursor instead.
+     * @throws IllegalArgumentException if a FUZZY search is longer than MAX_SEARCH_QUERY_LENGTH,
+     * or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public TodoPageDTO getUserTodosPage(Long userId, Boolean completed, Todo.Priority priority, String category,
+                                        String search, SearchMode searchMode, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        if (searchMode == SearchMode.FUZZY && search != null && !search.trim().isEmpty()) {
+            checkSearchQueryLength(search);
+            SearchCursor after = cursor == null || cursor.isEmpty() ? null : SearchCursor.decode(cursor);
+            return toSearchPage(todoRepository.fuzzySearchByUserId(
+                    userId, search.trim(), completed, priority, category, after, pageSize + 1), pageSize);
+        }
+        String searchPattern = search != null && !search.trim().isEmpty() ? LikePatterns.contains(search) : null;
+
+        // Fetch one extra row to learn whether another page exists
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+        List<TodoResponseDTO> todos;
+        if (cursor == null || cursor.isEmpty()) {
+            todos = todoRepository.findFirstPageByUserId(
+                    userId, completed, priority, category, searchPattern, pageRequest);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            todos = todoRepository.findPageByUserIdAfter(
+                    userId, after.getTimestamp(), after.getId(),
+                    completed, priority, category, searchPattern, pageRequest);
+        }
+
+        String nextCursor = null;
+        if (todos.size() > pageSize) {
+            todos = todos.subList(0, pageSize);
+            TodoResponseDTO last = todos.get(pageSize - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new TodoPageDTO(todos, nextCursor);
+    }
+
+    /**
+     * Full-text search over a user's todos, best match first, with optional filters.
+     * Keyset pagination over (rank, id).
+     * @param query Search text (words, "quoted phrases", -excluded words on PostgreSQL)
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Page size (defaults to DEFAULT_PAGE_SIZE, capped at MAX_PAGE_SIZE)
+     * @throws IllegalArgumentException if the query is empty or too long, or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public TodoPageDTO searchUserTodos(Long userId, String query, Boolean completed, Todo.Priority priority,
+                                       String category, String cursor, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        checkSearchQueryLength(query);
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        SearchCursor after = cursor == null || cursor.isEmpty() ? null : SearchCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page exists
+        return toSearchPage(todoRepository.searchByUserId(
+                userId, query.trim(), completed, priority, category, after, pageSize + 1), pageSize);
     }
 
     /**
      * Get a specific todo by ID for a user (security check)
      */
+    @Transactional(readOnly = true)
     public Optional<TodoResponseDTO> getUserTodoById(Long userId, Long todoId) {
-        return todoRepository.findByIdAndUserId(todoId, userId)
-                .map(TodoResponseDTO::new);
+        return todoRepository.findResponseByIdAndUserId(todoId, userId);
     }
 
     /**
@@ -74,10 +231,14 @@ public class TodoService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Todo todo = new Todo();
-        mapRequestToEntity(todoRequest, todo);
+        todo.setSyncVersion(bumpTodosVersion(userId));
+        mapRequestToEntity(userId, todoRequest, todo);
         todo.setUser(user);
 
         Todo savedTodo = todoRepository.save(todo);
+        todoCounterService.recordCreated(userId, savedTodo);
+        categoryService.recordCreated(savedTodo.getCategory());
+        todoSuggestService.recordCreated(userId, savedTodo.getTitle(), savedTodo.getCategoryName());
         return new TodoResponseDTO(savedTodo);
     }
 
@@ -85,10 +246,19 @@ public class TodoService {
      * Update a user's todo (security check)
      */
     public Optional<TodoResponseDTO> updateUserTodo(Long userId, Long todoId, TodoRequestDTO todoRequest) {
+        lockUserTodos(userId);
         return todoRepository.findByIdAndUserId(todoId, userId)
                 .map(todo -> {
-                    mapRequestToEntity(todoRequest, todo);
+                    TodoCounterService.Snapshot before = TodoCounterService.Snapshot.of(todo);
+                    String oldTitle = todo.getTitle();
+                    Category oldCategory = todo.getCategory();
+                    todo.setSyncVersion(bumpTodosVersion(userId));
+                    mapRequestToEntity(userId, todoRequest, todo);
                     Todo updatedTodo = todoRepository.save(todo);
+                    todoCounterService.recordChanged(userId, before, updatedTodo);
+                    categoryService.recordChanged(oldCategory, updatedTodo.getCategory());
+                    todoSuggestService.recordChanged(userId, oldTitle, before.category(),
+                            updatedTodo.getTitle(), updatedTodo.getCategoryName());
                     return new TodoResponseDTO(updatedTodo);
                 });
     }
@@ -97,9 +267,15 @@ public class TodoService {
      * Delete a user's todo (security check)
      */
     public boolean deleteUserTodo(Long userId, Long todoId) {
+        lockUserTodos(userId);
         Optional<Todo> todoOpt = todoRepository.findByIdAndUserId(todoId, userId);
         if (todoOpt.isPresent()) {
+            long syncVersion = bumpTodosVersion(userId);
             todoRepository.delete(todoOpt.get());
+            todoCounterService.recordDeleted(userId, List.of(todoOpt.get()));
+            categoryService.recordDeleted(List.of(todoOpt.get()));
+            todoSuggestService.recordDeleted(userId, List.of(todoOpt.get()));
+            todoSyncService.recordDeleted(userId, List.of(todoOpt.get()), syncVersion);
             return true;
         }
         return false;
@@ -109,50 +285,113 @@ public class TodoService {
      * Toggle completion status for a user's todo
      */
     public Optional<TodoResponseDTO> toggleUserTodoCompletion(Long userId, Long todoId) {
+        lockUserTodos(userId);
         return todoRepository.findByIdAndUserId(todoId, userId)
                 .map(todo -> {
+                    TodoCounterService.Snapshot before = TodoCounterService.Snapshot.of(todo);
+                    todo.setSyncVersion(bumpTodosVersion(userId));
                     todo.toggleCompleted();
                     Todo updatedTodo = todoRepository.save(todo);
+                    todoCounterService.recordChanged(userId, before, updatedTodo);
                     return new TodoResponseDTO(updatedTodo);
                 });
     }
 
     /**
-     * Get todo statistics for a user
+     * Get todo statistics for a user, with per-priority and per-category breakdowns.
+     * Served from the user's counter rows; users whose counters are not seeded yet
+     * fall back to a single grouped aggregate query.
      */
+    @Transactional(readOnly = true)
     public TodoStatsDTO getUserTodoStats(Long userId) {
-        List<Todo> userTodos = todoRepository.findByUserId(userId);
-
-        long totalCount = userTodos.size();
-        long completedCount = userTodos.stream().filter(Todo::getCompleted).count();
-        long activeCount = totalCount - completedCount;
-        long overdueCount = userTodos.stream()
-                .filter(todo -> !todo.getCompleted() && todo.isOverdue())
-                .count();
+        LocalDateTime now = LocalDateTime.now();
+        Optional<TodoStatsDTO> fromCounters = todoCounterService.getStats(userId, now);
+        if (fromCounters.isPresent()) {
+            return fromCounters.get();
+        }
 
-        return new TodoStatsDTO(totalCount, completedCount, activeCount, overdueCount);
+        TodoStatsDTO stats = new TodoStatsDTO();
+        for (Object[] row : todoRepository.aggregateStatsByUserId(userId, now)) {
+            Todo.Priority priority = (Todo.Priority) row[0];
+            String category = (String) row[1];
+            long total = ((Number) row[2]).longValue();
+            long completed = row[3] != null ? ((Number) row[3]).longValue() : 0;
+            long overdue = row[4] != null ? ((Number) row[4]).longValue() : 0;
+
+            stats.add(priority != null ? priority.name() : null,
+                    category != null && !category.isBlank() ? category : null,
+                    total, completed, overdue);
+        }
+        return stats;
     }
 
     /**
-     * Get overdue todos for a user
+     * Get overdue todos for a user, most overdue first
      */
+    @Transactional(readOnly = true)
     public List<TodoResponseDTO> getUserOverdueTodos(Long userId) {
-        List<Todo> overdueTodos = todoRepository.findByUserId(userId).stream()
-                .filter(todo -> !todo.getCompleted() && todo.isOverdue())
-                .collect(Collectors.toList());
+        return todoRepository.findOverdueResponsesByUserId(userId, LocalDateTime.now());
+    }
 
-        return overdueTodos.stream()
-                .map(TodoResponseDTO::new)
-                .collect(Collectors.toList());
+    /**
+     * Get one page of a user's overdue todos, most overdue first.
+     * Keyset pagination over (dueDate, id) on the overdue index, so completed history
+     * never adds to the cost of a page.
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Page size (defaults to DEFAULT_PAGE_SIZE, capped at MAX_PAGE_SIZE)
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public TodoPageDTO getUserOverdueTodosPage(Long userId, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime now = LocalDateTime.now();
+
+        // Fetch one extra row to learn whether another page exists
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+        List<TodoResponseDTO> todos;
+        if (cursor == null || cursor.isEmpty()) {
+            todos = todoRepository.findOverduePageByUserId(userId, now, pageRequest);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            todos = todoRepository.findOverduePageByUserIdAfter(
+                    userId, now, after.getTimestamp(), after.getId(), pageRequest);
+        }
+
+        String nextCursor = null;
+        if (todos.size() > pageSize) {
+            todos = todos.subList(0, pageSize);
+            TodoResponseDTO last = todos.get(pageSize - 1);
+            nextCursor = new PageCursor(last.getDueDate(), last.getId()).encode();
+        }
+
+        return new TodoPageDTO(todos, nextCursor);
+    }
+
+    /**
+     * Count a user's overdue todos (an index-only count on the overdue index)
+     */
+    @Transactional(readOnly = true)
+    public long countUserOverdueTodos(Long userId) {
+        return todoRepository.countOverdueByUserId(userId, LocalDateTime.now());
     }
 
     /**
      * Delete all completed todos for a user
      */
     public int deleteUserCompletedTodos(Long userId) {
+        lockUserTodos(userId);
         List<Todo> completedTodos = todoRepository.findByUserIdAndCompleted(userId, true);
         int count = completedTodos.size();
+        if (count == 0) {
+            return 0;
+        }
+
+        long syncVersion = bumpTodosVersion(userId);
         todoRepository.deleteAll(completedTodos);
+        todoCounterService.recordDeleted(userId, completedTodos);
+        categoryService.recordDeleted(completedTodos);
+        todoSuggestService.recordDeleted(userId, completedTodos);
+        todoSyncService.recordDeleted(userId, completedTodos, syncVersion);
         return count;
     }
 
@@ -169,13 +408,24 @@ public class TodoService {
             return 0;
         }
 
+        lockUserTodos(userId);
+
         // Security check: only delete todos that belong to this user
         List<Todo> todosToDelete = todoRepository.findAllById(todoIds).stream()
                 .filter(todo -> todo.getUser().getId().equals(userId))
                 .collect(Collectors.toList());
 
         int deletedCount = todosToDelete.size();
+        if (deletedCount == 0) {
+            return 0;
+        }
+
+        long syncVersion = bumpTodosVersion(userId);
         todoRepository.deleteAll(todosToDelete);
+        todoCounterService.recordDeleted(userId, todosToDelete);
+        categoryService.recordDeleted(todosToDelete);
+        todoSuggestService.recordDeleted(userId, todosToDelete);
+        todoSyncService.recordDeleted(userId, todosToDelete, syncVersion);
 
         return deletedCount;
     }
@@ -186,6 +436,7 @@ public class TodoService {
      * @param reorderData List of maps containing id and order
      */
     public void reorderUserTodos(Long userId, List<Map<String, Object>> reorderData) {
+        Long syncVersion = null;
         for (Map<String, Object> item : reorderData) {
             Object idObj = item.get("id");
             Object orderObj = item.get("order");
@@ -206,8 +457,12 @@ public class TodoService {
             // Security check: only update todos that belong to this user
             Optional<Todo> todoOpt = todoRepository.findByIdAndUserId(todoId, userId);
             if (todoOpt.isPresent()) {
+                if (syncVersion == null) {
+                    syncVersion = bumpTodosVersion(userId);
+                }
                 Todo todo = todoOpt.get();
                 todo.setDisplayOrder(order);
+                todo.setSyncVersion(syncVersion);
                 todoRepository.save(todo);
             }
         }
@@ -218,27 +473,107 @@ public class TodoService {
      * @param userId User ID
      * @return List of unique category names
      */
+    @Transactional(readOnly = true)
     public List<String> getUserCategories(Long userId) {
-        List<Todo> userTodos = todoRepository.findByUserId(userId);
+        // Read from the category dictionary; the todos table is not touched
+        return categoryService.getCategoryNames(userId);
+    }
 
-        return userTodos.stream()
-                .map(Todo::getCategory)
-                .filter(category -> category != null && !category.trim().isEmpty())
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+    /**
+     * Rename one of a user's categories, merging it into an existing category of the new name
+     * @param userId User ID
+     * @param from Current category name
+     * @param to New category name
+     * @return Number of todos in the renamed category
+     * @throws IllegalArgumentException if a name is invalid or the category does not exist
+     */
+    public int renameUserCategory(Long userId, String from, String to) {
+        long syncVersion = bumpTodosVersion(userId);
+        int todoCount = categoryService.rename(userId, from, to);
+        // The todos' rows did not change, but their category name did
+        todoRepository.stampCategory(userId, to, syncVersion);
+        return todoCount;
+    }
+
+    /**
+     * Get the changes to a user's todos since their last sync
+     * @param userId User ID
+     * @param since Token from the previous sync, or null for a full sync
+     * @return Changed todos, deleted ids and the next token
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    @Transactional(readOnly = true)
+    public TodoChangesDTO getUserTodoChanges(Long userId, String since) {
+        return todoSyncService.getChanges(userId, since);
+    }
+
+    /**
+     * Get the version of a user's todo data. Every mutation above bumps it in its own
+     * transaction, so an unchanged version means unchanged todos, stats and categories
+     * (apart from overdue counts, which move with the clock).
+     * @param userId User ID
+     * @return Current version (0 for a user that was never changed)
+     */
+    @Transactional(readOnly = true)
+    public long getTodosVersion(Long userId) {
+        return userRepository.findTodosVersionById(userId).orElse(0L);
     }
 
     // ==================== HELPER METHODS ====================
 
     /**
-     * Map TodoRequestDTO to Todo entity
+     * Take the users row lock that serializes the user's mutations, before reading the todos a
+     * mutation changes. Their before-image (completion, category) feeds the counter and category
+     * deltas, so it must be the committed state and stay so until this mutation commits; the
+     * same lock taken later by bumpTodosVersion would let two mutations read the same image.
+     */
+    private void lockUserTodos(Long userId) {
+        userRepository.lockById(userId);
+    }
+
+    /**
+     * Bump the user's todos version in the current mutation's transaction.
+     * Called before the mutation writes anything: the users row lock it takes serializes the
+     * user's mutations, so versions commit in order (delta sync relies on this).
+     * The user's open change streams are pushed the new version once it commits.
+     * @return The new version, to stamp on the todos this mutation writes
+     */
+    private long bumpTodosVersion(Long userId) {
+        userRepository.incrementTodosVersion(userId);
+        todoPushService.publishAfterCommit(userId);
+        return userRepository.findTodosVersionById(userId).orElse(0L);
+    }
+
+    /**
+     * Reject search text too long to match cheaply; ranked and fuzzy search cost grows with it
+     */
+    private static void checkSearchQueryLength(String query) {
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+    }
+
+    /**
+     * Turn up to pageSize + 1 ranked hits into a page with a (rank, id) cursor
+     */
+    private TodoPageDTO toSearchPage(List<TodoSearchRepository.SearchHit> hits, int pageSize) {
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            TodoSearchRepository.SearchHit last = hits.get(pageSize - 1);
+            nextCursor = new SearchCursor(last.rank(), last.todo().getId()).encode();
+        }
+        return new TodoPageDTO(hits.stream().map(TodoSearchRepository.SearchHit::todo).toList(), nextCursor);
+    }
+
+    /**
+     * Map TodoRequestDTO to Todo entity, resolving the category name to the user's category
      */
-    private void mapRequestToEntity(TodoRequestDTO request, Todo todo) {
+    private void mapRequestToEntity(Long userId, TodoRequestDTO request, Todo todo) {
         todo.setTitle(request.getTitle());
         todo.setDescription(request.getDescription());
         todo.setPriority(request.getPriority());
-        todo.setCategory(request.getCategory());
+        todo.setCategory(categoryService.resolve(userId, request.getCategory()));
         todo.setDueDate(request.getDueDate());
 
         if (request.getCompleted() != null) {
@@ -0,0 +1,189 @@
+// src/main/java/com/todoapp/service/TodoSuggestService.java
+package com.todoapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todoapp.dto.TodoSuggestionsDTO;
+import com.todoapp.entity.Todo;
+import com.todoapp.repository.TodoRepository;
+import com.todoapp.util.PrefixIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Autocomplete over a user's todo titles and categories, answered from memory.
+ * Each user's titles and categories are kept in {@link PrefixIndex}es, loaded with one query
+ * on the user's first suggest request and then kept current by TodoService mutations
+ * (applied after commit). Indexes are cached in Caffeine, bounded by total entry count and
+ * softly referenced so the GC can reclaim them under memory pressure; the write TTL bounds
+ * any drift, since an evicted index is simply reloaded on the next request.
+ * Hit/miss/eviction counts are published as "cache.*" metrics with cache=todoSuggest.
+ */
+@Service
+public class TodoSuggestService {
+
+    public static final String CACHE_NAME = "todoSuggest";
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private final TodoRepository todoRepository;
+    private final Cache<Long, UserIndex> cache;
+
+    @Autowired
+    public TodoSuggestService(TodoRepository todoRepository,
+                              @Value("${app.suggest.max-entries:2000000}") long maxEntries,
+                              @Value("${app.suggest.ttl:30m}") Duration ttl,
+                              @Value("${app.suggest.soft-values:true}") boolean softValues,
+                              MeterRegistry meterRegistry) {
+        this.todoRepository = todoRepository;
+        Caffeine<Long, UserIndex> builder = Caffeine.newBuilder()
+                .maximumWeight(maxEntries)
+                .weigher((Long userId, UserIndex index) -> index.weight())
+                .expireAfterWrite(ttl)
+                .recordStats();
+        if (softValues) {
+            builder.softValues();
+        }
+        this.cache = builder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Suggest titles and categories starting with a prefix
+     * @param userId User ID
+     * @param prefix Text typed so far
+     * @param limit Maximum suggestions of each kind (defaults to DEFAULT_LIMIT, capped at MAX_LIMIT)
+     * @return Matching titles and categories
+     * @throws IllegalArgumentException if the prefix is empty
+     */
+    public TodoSuggestionsDTO suggest(Long userId, String prefix, Integer limit) {
+        if (PrefixIndex.normalize(prefix) == null) {
+            throw new IllegalArgumentException("Prefix is required");
+        }
+        int max = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        UserIndex index = cache.get(userId, this::load);
+        return new TodoSuggestionsDTO(index.titles.search(prefix, max), index.categories.search(prefix, max));
+    }
+
+    /**
+     * Record a new todo (after the current transaction commits)
+     */
+    public void recordCreated(Long userId, String title, String category) {
+        afterCommit(userId, index -> index.add(title, category));
+    }
+
+    /**
+     * Record a todo whose title or category may have changed (after the current transaction commits)
+     */
+    public void recordChanged(Long userId, String oldTitle, String oldCategory, String newTitle, String newCategory) {
+        if (Objects.equals(oldTitle, newTitle) && Objects.equals(oldCategory, newCategory)) {
+            return;
+        }
+        afterCommit(userId, index -> {
+            index.remove(oldTitle, oldCategory);
+            index.add(newTitle, newCategory);
+        });
+    }
+
+    /**
+     * Record deleted todos (after the current transaction commits)
+     */
+    public void recordDeleted(Long userId, List<Todo> todos) {
+        if (todos.isEmpty()) {
+            return;
+        }
+        // Copy now; the entities may change before commit
+        List<String[]> removed = todos.stream()
+                .map(todo -> new String[]{todo.getTitle(), todo.getCategoryName()})
+                .toList();
+        afterCommit(userId, index -> removed.forEach(entry -> index.remove(entry[0], entry[1])));
+    }
+
+    /**
+     * Drop a user's index now and after the current transaction commits, for changes
+     * that are not worth applying incrementally (category renames)
+     */
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop all loaded indexes
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Apply a change to the user's index if it is loaded, once the change is committed.
+     * A loaded index is updated through the cache so its weight is recomputed.
+     */
+    private void afterCommit(Long userId, Consumer<UserIndex> change) {
+        Runnable apply = () -> cache.asMap().computeIfPresent(userId, (id, index) -> {
+            change.accept(index);
+            return index;
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private UserIndex load(Long userId) {
+        UserIndex index = new UserIndex();
+        for (Object[] row : todoRepository.findTitlesAndCategoriesByUserId(userId)) {
+            index.add((String) row[0], (String) row[1]);
+        }
+        return index;
+    }
+
+    /**
+     * A user's title and category indexes
+     */
+    private static final class UserIndex {
+
+        private final PrefixIndex titles = new PrefixIndex();
+        private final PrefixIndex categories = new PrefixIndex();
+
+        void add(String title, String category) {
+            titles.add(title);
+            categories.add(category);
+        }
+
+        void remove(String title, String category) {
+            titles.remove(title);
+            categories.remove(category);
+        }
+
+        int weight() {
+            return 1 + titles.size() + categories.size();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+// src/main/java/com/todoapp/service/TodoSyncService.java
+package com.todoapp.service;
+
+import com.todoapp.dto.TodoChangesDTO;
+import com.todoapp.entity.Todo;
+import com.todoapp.repository.TodoRepository;
+import com.todoapp.repository.TodoTombstoneRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.util.SyncToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service class for delta sync of a user's todos.
+ * Every TodoService mutation bumps the user's todos_version under the user's row lock and
+ * stamps the todos it writes with the new version; deletes leave a tombstone with theirs.
+ * Versions therefore commit in order, and a client holding version N needs exactly the
+ * todos and tombstones stamped after N. Tombstones are purged after the retention period;
+ * tokens that old get the full list instead of a delta.
+ */
+@Service
+public class TodoSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoSyncService.class);
+
+    // Covers a delete that started before a token was issued, and clock differences between nodes
+    private static final Duration TOKEN_MARGIN = Duration.ofHours(1);
+
+    private final TodoRepository todoRepository;
+    private final TodoTombstoneRepository tombstoneRepository;
+    private final UserRepository userRepository;
+    private final Duration tombstoneRetention;
+    private final int purgeBatchSize;
+
+    @Autowired
+    public TodoSyncService(TodoRepository todoRepository,
+                           TodoTombstoneRepository tombstoneRepository,
+                           UserRepository userRepository,
+                           @Value("${app.sync.tombstone-retention:30d}") Duration tombstoneRetention,
+                           @Value("${app.sync.purge-batch-size:1000}") int purgeBatchSize) {
+        this.todoRepository = todoRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.userRepository = userRepository;
+        this.tombstoneRetention = tombstoneRetention;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    /**
+     * Leave tombstones for deleted todos
+     * @param userId Owner of the todos
+     * @param todos Deleted todos
+     * @param syncVersion The delete's todos version
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long userId, Collection<Todo> todos, long syncVersion) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Todo todo : todos) {
+            tombstoneRepository.insert(todo.getId(), userId, syncVersion, now);
+        }
+    }
+
+    /**
+     * Changes to a user's todos since a sync token
+     * @param userId User ID
+     * @param since Token from the previous sync, or null for a full sync
+     * @return Changed todos and deleted ids, or every todo if the token is missing, expired
+     *         or ahead of the user's version; plus the token for the next sync
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    @Transactional(readOnly = true)
+    public TodoChangesDTO getChanges(Long userId, String since) {
+        SyncToken after = since == null || since.isEmpty() ? null : SyncToken.decode(since);
+
+        // Read before the todos: anything committed later comes again on the next sync, never missed
+        Instant now = Instant.now();
+        long version = userRepository.findTodosVersionById(userId).orElse(0L);
+        String token = new SyncToken(version, now).encode();
+
+        if (after != null && after.getVersion() <= version
+                && after.getIssuedAt().isAfter(now.minus(tombstoneRetention).plus(TOKEN_MARGIN))) {
+            return new TodoChangesDTO(
+                    todoRepository.findChangedResponsesByUserId(userId, after.getVersion()),
+                    tombstoneRepository.findTodoIdsByUserIdAfter(userId, after.getVersion()),
+                    token, false);
+        }
+        return new TodoChangesDTO(todoRepository.findResponsesByUserId(userId), List.of(), token, true);
+    }
+
+    /**
+     * Remove tombstones past the retention period in bounded batches
+     */
+    @Scheduled(fixedDelayString = "${app.sync.purge-interval-ms:3600000}")
+    public void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = tombstoneRepository.deleteOlderThanBatch(cutoff, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (total > 0) {
+            logger.info("Purged {} todo tombstones", total);
+        }
+    }
+}
@@ -4,12 +4,17 @@ package com.todoapp.service;
 import com.todoapp.dto.auth.UserDTO;
 import com.todoapp.entity.User;
 import com.todoapp.repository.UserRepository;
+import com.todoapp.security.AuthenticatedUser;
+import com.todoapp.security.TokenVersionRegistry;
+import com.todoapp.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -22,35 +27,54 @@ import java.util.stream.Collectors;
  */
 @Service
 @Transactional
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       UserDetailsCache userDetailsCache, TokenVersionRegistry tokenVersionRegistry) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsCache = userDetailsCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
     }
 
     /**
      * Spring Security UserDetailsService implementation
-     * Loads user by username (email in our case)
+     * Loads user by username (email in our case).
+     * Returns an AuthenticatedUser so the principal carries the user id.
+     * Served from UserDetailsCache; no transaction is opened on a cache hit.
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmailAndIsActive(email, true)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        return userDetailsCache.get(email, key -> {
+            User user = userRepository.findByEmailAndIsActive(key, true)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + key));
+            return AuthenticatedUser.from(user);
+        });
+    }
+
+    /**
+     * Spring Security UserDetailsPasswordService implementation.
+     * Called after a successful login when the stored hash uses an outdated BCrypt cost.
+     * @param userDetails Authenticated user
+     * @param newEncodedPassword Password re-encoded with the current settings
+     * @return Updated user details
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(user.getRole().getAuthority())
-                .accountExpired(false)
-                .accountLocked(!user.getIsActive())
-                .credentialsExpired(false)
-                .disabled(!user.getIsActive())
-                .build();
+        user.setPassword(newEncodedPassword);
+        userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
+        return AuthenticatedUser.from(user);
     }
 
     /**
@@ -103,6 +127,7 @@ public class UserService implements UserDetailsService {
      * @return User DTO
      * @throws RuntimeException if user not found
      */
+    @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
@@ -126,10 +151,21 @@ public class UserService implements UserDetailsService {
             throw new RuntimeException("Email already exists: " + email);
         }
 
+        String previousEmail = user.getEmail();
+        boolean emailChanged = !previousEmail.equals(email);
         user.setName(name);
         user.setEmail(email);
+        if (emailChanged) {
+            // Tokens name the user by email, so revoke those issued for the old one
+            user.incrementTokenVersion();
+        }
 
         User updatedUser = userRepository.save(user);
+        userDetailsCache.invalidate(previousEmail);
+        userDetailsCache.invalidate(email);
+        if (emailChanged) {
+            tokenVersionRegistry.invalidate(user.getId());
+        }
         return new UserDTO(updatedUser);
     }
 
@@ -149,9 +185,12 @@ public class UserService implements UserDetailsService {
             throw new RuntimeException("Current password is incorrect");
         }
 
-        // Update password
+        // Update password and revoke previously issued tokens
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.incrementTokenVersion();
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
+        tokenVersionRegistry.invalidate(user.getId());
     }
 
     /**
@@ -164,7 +203,10 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
 
         user.setIsActive(false);
+        user.incrementTokenVersion();
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
+        tokenVersionRegistry.invalidate(user.getId());
     }
 
     /**
@@ -178,12 +220,15 @@ public class UserService implements UserDetailsService {
 
         user.setIsActive(true);
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
+        tokenVersionRegistry.invalidate(user.getId());
     }
 
     /**
      * Get all active users
      * @return List of active user DTOs
      */
+    @Transactional(readOnly = true)
     public List<UserDTO> getAllActiveUsers() {
         return userRepository.findByIsActive(true)
                 .stream()
@@ -196,6 +241,7 @@ public class UserService implements UserDetailsService {
      * @param role User role
      * @return List of user DTOs with specified role
      */
+    @Transactional(readOnly = true)
     public List<UserDTO> getUsersByRole(User.Role role) {
         return userRepository.findByRole(role)
                 .stream()
@@ -216,6 +262,7 @@ public class UserService implements UserDetailsService {
      * Get total active user count
      * @return Number of active users
      */
+    @Transactional(readOnly = true)
     public long getActiveUserCount() {
         return userRepository.countActiveUsers();
     }
@@ -241,6 +288,7 @@ public class UserService implements UserDetailsService {
      * @param name Name or part of name to search
      * @return List of matching user DTOs
      */
+    @Transactional(readOnly = true)
     public List<UserDTO> searchUsersByName(String name) {
         return userRepository.findByNameContainingIgnoreCase(name)
                 .stream()
@@ -0,0 +1,119 @@
+// src/main/java/com/todoapp/util/JwtKeyRing.java
+package com.todoapp.util;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of HMAC keys identified by "kid".
+ * New tokens are signed with the active key; verification picks the key named in the
+ * token header, so tokens signed with a retired key keep working until they expire.
+ * All keys are derived once up front; lookups are a map probe per request.
+ *
+ * Rotation without downtime:
+ * 1. add the new key to every instance's verification keys,
+ * 2. make it the active key (old key moves to the verification keys),
+ * 3. drop the old key once the longest-lived token signed with it has expired.
+ */
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private final String activeKeyId;
+    private final SecretKey activeKey;
+    private final SecretKey legacyKey;
+    private final Map<String, SecretKey> keys;
+
+    /**
+     * Build a key ring
+     * @param activeKeyId Id of the signing key
+     * @param activeSecret Secret of the signing key
+     * @param verificationSecrets Additional verification-only keys (kid -> secret)
+     * @param legacyKeyId Key used for tokens without a kid header, or null for the active key
+     */
+    public JwtKeyRing(String activeKeyId, String activeSecret,
+                      Map<String, String> verificationSecrets, String legacyKeyId) {
+        Map<String, SecretKey> derived = new HashMap<>();
+        verificationSecrets.forEach((kid, secret) -> derived.put(kid, deriveKey(secret)));
+        derived.put(activeKeyId, deriveKey(activeSecret));
+
+        this.activeKeyId = activeKeyId;
+        this.activeKey = derived.get(activeKeyId);
+        this.keys = Map.copyOf(derived);
+
+        if (legacyKeyId == null || legacyKeyId.isBlank()) {
+            this.legacyKey = activeKey;
+        } else if (keys.containsKey(legacyKeyId)) {
+            this.legacyKey = keys.get(legacyKeyId);
+        } else {
+            throw new IllegalArgumentException("Unknown legacy JWT key id: " + legacyKeyId);
+        }
+    }
+
+    /**
+     * Parse a "kid:secret,kid:secret" list of verification keys
+     * @param spec Key list (may be null or blank)
+     * @return Secrets by key id, in declaration order
+     */
+    public static Map<String, String> parseKeys(String spec) {
+        Map<String, String> secrets = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return secrets;
+        }
+
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            int separator = trimmed.indexOf(':');
+            if (separator <= 0 || separator == trimmed.length() - 1) {
+                throw new IllegalArgumentException("JWT verification keys must be kid:secret pairs");
+            }
+            secrets.put(trimmed.substring(0, separator), trimmed.substring(separator + 1));
+        }
+        return secrets;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public SecretKey getActiveKey() {
+        return activeKey;
+    }
+
+    /**
+     * Check if a token with this key id can be verified
+     * @param keyId "kid" header, or null for legacy tokens
+     * @return true if a matching key is loaded
+     */
+    public boolean canVerify(String keyId) {
+        return keyId == null || keys.containsKey(keyId);
+    }
+
+    /**
+     * Pick the verification key named by the token header
+     */
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId();
+        if (keyId == null) {
+            return legacyKey;
+        }
+
+        SecretKey key = keys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static SecretKey deriveKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,16 +1,27 @@
 // src/main/java/com/todoapp/util/JwtUtil.java
 package com.todoapp.util;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.todoapp.security.AuthenticatedUser;
+import com.todoapp.security.TokenValidationResult;
+import com.todoapp.security.VerifiedToken;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -20,21 +31,61 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
+    // Tokens are only ever signed with HS512; anything else is rejected before verification
+    private static final Set<String> SUPPORTED_ALGORITHMS = Set.of("HS512");
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     // JWT Secret key (in production, use environment variable)
     @Value("${jwt.secret:mySecretKey1234567890abcdefghijklmnopqrstuvwxyz}")
     private String jwtSecret;
 
+    // Id ("kid" header) of the signing key
+    @Value("${jwt.key-id:primary}")
+    private String jwtKeyId;
+
+    // Retired keys still accepted for verification, as "kid:secret,kid:secret"
+    @Value("${jwt.verification-keys:}")
+    private String jwtVerificationKeys;
+
+    // Key for tokens issued before kid headers were added (defaults to the signing key)
+    @Value("${jwt.legacy-key-id:}")
+    private String jwtLegacyKeyId;
+
     // JWT expiration time (24 hours in milliseconds)
     @Value("${jwt.expiration:86400000}")
     private Long jwtExpirationMs;
 
+    // Longer inputs are rejected without decoding
+    @Value("${jwt.max-token-length:4096}")
+    private int maxTokenLength = 4096;
+
+    // Key ring and parser are immutable and thread-safe, so build them once
+    private JwtKeyRing keyRing;
+    private JwtParser jwtParser;
+
     /**
-     * Generate a secure secret key from the configured secret string
+     * Derive all keys and the parser from the configured secrets
+     */
+    @PostConstruct
+    void init() {
+        this.keyRing = new JwtKeyRing(
+                jwtKeyId != null ? jwtKeyId : "primary",
+                jwtSecret,
+                JwtKeyRing.parseKeys(jwtVerificationKeys),
+                jwtLegacyKeyId
+        );
+        this.jwtParser = Jwts.parser()
+                .keyLocator(keyRing)
+                .build();
+    }
+
+    /**
+     * Get the cached signing key
      * @return SecretKey for JWT signing
      */
     private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        return keyRing.getActiveKey();
     }
 
     /**
@@ -44,6 +95,7 @@ public class JwtUtil {
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        addIdentityClaims(claims, userDetails);
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -54,7 +106,24 @@ public class JwtUtil {
      * @return JWT token string
      */
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return createToken(extraClaims, userDetails.getUsername());
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        addIdentityClaims(claims, userDetails);
+        return createToken(claims, userDetails.getUsername());
+    }
+
+    /**
+     * Add user id, role and token version claims for AuthenticatedUser principals.
+     * These let the filter build the principal without a user lookup and revoke
+     * old tokens when the user's token version changes.
+     * @param claims Claims to add to
+     * @param userDetails User details for token creation
+     */
+    private void addIdentityClaims(Map<String, Object> claims, UserDetails userDetails) {
+        if (userDetails instanceof AuthenticatedUser user) {
+            claims.put(VerifiedToken.USER_ID_CLAIM, user.getId());
+            claims.put(VerifiedToken.ROLE_CLAIM, user.getRole().name());
+            claims.put(VerifiedToken.TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        }
     }
 
     /**
@@ -68,11 +137,13 @@ public class JwtUtil {
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .header().keyId(keyRing.getActiveKeyId()).and()
+                .claims(claims)
+                .id(UUID.randomUUID().toString())
+                .subject(subject)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(getSigningKey(), Jwts.SIG.HS512)
                 .compact();
     }
 
@@ -113,11 +184,7 @@ public class JwtUtil {
      */
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser() // Changed from parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             throw new RuntimeException("JWT token has expired", e);
         } catch (UnsupportedJwtException e) {
@@ -131,6 +198,134 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Parse and verify a JWT token exactly once.
+     * The returned token carries the verified claims for the rest of the request.
+     * @param token JWT token
+     * @return Verified token, or empty if the token is invalid
+     */
+    public Optional<VerifiedToken> parseToken(String token) {
+        return verifyToken(token).getToken();
+    }
+
+    /**
+     * Verify a JWT token, reporting why it was rejected.
+     * Size, shape, algorithm, key id and expiry are checked first without any
+     * signature work, so junk and expired tokens are cheaper than good ones.
+     * @param token JWT token
+     * @return Verified token or rejection reason
+     */
+    public TokenValidationResult verifyToken(String token) {
+        TokenValidationResult.Status rejection = precheck(token);
+        if (rejection != null) {
+            return TokenValidationResult.rejected(rejection);
+        }
+
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            return TokenValidationResult.valid(new VerifiedToken(token, claims));
+        } catch (ExpiredJwtException e) {
+            return TokenValidationResult.rejected(TokenValidationResult.Status.EXPIRED);
+        } catch (io.jsonwebtoken.security.SecurityException e) {
+            return TokenValidationResult.rejected(TokenValidationResult.Status.BAD_SIGNATURE);
+        } catch (UnsupportedJwtException e) {
+            return TokenValidationResult.rejected(TokenValidationResult.Status.UNSUPPORTED_ALGORITHM);
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenValidationResult.rejected(TokenValidationResult.Status.MALFORMED);
+        }
+    }
+
+    /**
+     * Structural checks that need no signature verification
+     * @param token JWT token
+     * @return Rejection reason, or null if the token should be verified
+     */
+    private TokenValidationResult.Status precheck(String token) {
+        if (token == null || token.isEmpty()) {
+            return TokenValidationResult.Status.MALFORMED;
+        }
+        if (token.length() > maxTokenLength) {
+            return TokenValidationResult.Status.OVERSIZE;
+        }
+
+        // Exactly three non-empty base64url segments
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (firstDot < 0) {
+                    firstDot = i;
+                } else if (secondDot < 0) {
+                    secondDot = i;
+                } else {
+                    return TokenValidationResult.Status.MALFORMED;
+                }
+            } else if (!isBase64UrlChar(c)) {
+                return TokenValidationResult.Status.MALFORMED;
+            }
+        }
+        if (firstDot <= 0 || secondDot <= firstDot + 1 || secondDot == token.length() - 1
+                || firstDot % 4 == 1 || (secondDot - firstDot - 1) % 4 == 1) {
+            return TokenValidationResult.Status.MALFORMED;
+        }
+
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        try (JsonParser header = JSON_FACTORY.createParser(decoder.decode(token.substring(0, firstDot)))) {
+            String algorithm = null;
+            String keyId = null;
+            if (header.nextToken() != JsonToken.START_OBJECT) {
+                return TokenValidationResult.Status.MALFORMED;
+            }
+            while (header.nextToken() == JsonToken.FIELD_NAME) {
+                String field = header.currentName();
+                JsonToken value = header.nextToken();
+                if ("alg".equals(field) && value == JsonToken.VALUE_STRING) {
+                    algorithm = header.getText();
+                } else if ("kid".equals(field) && value == JsonToken.VALUE_STRING) {
+                    keyId = header.getText();
+                } else {
+                    header.skipChildren();
+                }
+            }
+            if (algorithm == null || !SUPPORTED_ALGORITHMS.contains(algorithm)) {
+                return TokenValidationResult.Status.UNSUPPORTED_ALGORITHM;
+            }
+            if (!keyRing.canVerify(keyId)) {
+                return TokenValidationResult.Status.UNKNOWN_KEY;
+            }
+        } catch (IOException e) {
+            return TokenValidationResult.Status.MALFORMED;
+        }
+
+        try (JsonParser payload = JSON_FACTORY.createParser(decoder.decode(token.substring(firstDot + 1, secondDot)))) {
+            if (payload.nextToken() != JsonToken.START_OBJECT) {
+                return TokenValidationResult.Status.MALFORMED;
+            }
+            while (payload.nextToken() == JsonToken.FIELD_NAME) {
+                String field = payload.currentName();
+                JsonToken value = payload.nextToken();
+                if ("exp".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    // Expired tokens are rejected before spending an HMAC on them;
+                    // compared in seconds, so a far-future exp cannot overflow
+                    if (payload.getLongValue() <= System.currentTimeMillis() / 1000) {
+                        return TokenValidationResult.Status.EXPIRED;
+                    }
+                    break;
+                }
+                payload.skipChildren();
+            }
+        } catch (IOException e) {
+            return TokenValidationResult.Status.MALFORMED;
+        }
+
+        return null;
+    }
+
+    private static boolean isBase64UrlChar(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+
     /**
      * Check if JWT token is expired
      * @param token JWT token
@@ -147,8 +342,28 @@ public class JwtUtil {
      * @return true if token is valid, false otherwise
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return parseToken(token)
+                .map(verified -> validateToken(verified, userDetails))
+                .orElse(false);
+    }
+
+    /**
+     * Validate an already verified token against user details without parsing it again
+     * @param token Verified JWT token
+     * @param userDetails User details to validate against
+     * @return true if token belongs to the user and is not expired, false otherwise
+     */
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails) {
+        if (!userDetails.getUsername().equals(token.getSubject()) || token.isExpired()) {
+            return false;
+        }
+
+        // Reject tokens issued before the user's token version was incremented
+        Integer tokenVersion = token.getTokenVersion();
+        if (tokenVersion != null && userDetails instanceof AuthenticatedUser user) {
+            return tokenVersion == user.getTokenVersion();
+        }
+        return true;
     }
 
     /**
@@ -157,15 +372,7 @@ public class JwtUtil {
      * @return true if token is valid, false otherwise
      */
     public Boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseToken(token).isPresent();
     }
 
     /**
@@ -176,24 +383,45 @@ public class JwtUtil {
         return jwtExpirationMs;
     }
 
+    /**
+     * Get refresh token expiration time
+     * @return Refresh token lifetime in milliseconds
+     */
+    public long getRefreshExpirationTime() {
+        return jwtExpirationMs * 7; // 7 days
+    }
+
     /**
      * Generate refresh token (longer expiration)
      * @param userDetails User details for token creation
      * @return Refresh token string
      */
     public String generateRefreshToken(UserDetails userDetails) {
+        return generateRefreshToken(userDetails, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Generate refresh token with a caller-chosen id, so it can be tracked server-side
+     * @param userDetails User details for token creation
+     * @param tokenId Token id ("jti" claim)
+     * @return Refresh token string
+     */
+    public String generateRefreshToken(UserDetails userDetails, String tokenId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("type", "refresh");
+        addIdentityClaims(claims, userDetails);
 
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + (jwtExpirationMs * 7)); // 7 days
+        Date expiryDate = new Date(now.getTime() + getRefreshExpirationTime());
 
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .header().keyId(keyRing.getActiveKeyId()).and()
+                .claims(claims)
+                .id(tokenId)
+                .subject(userDetails.getUsername())
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(getSigningKey(), Jwts.SIG.HS512)
                 .compact();
     }
 
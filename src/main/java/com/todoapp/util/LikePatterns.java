@@ -0,0 +1,31 @@
+// src/main/java/com/todoapp/util/LikePatterns.java
+package com.todoapp.util;
+
+import java.util.Locale;
+
+/**
+ * LIKE patterns built from user input. Every query that takes one must declare
+ * ESCAPE '\' so that %, _ and \ typed by the user match themselves.
+ */
+public final class LikePatterns {
+
+    private LikePatterns() {}
+
+    /**
+     * Escape the LIKE wildcards and the escape character itself
+     * @param text User input
+     * @return Text that matches itself literally under ESCAPE '\'
+     */
+    public static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Case-insensitive "contains" pattern, to be matched against a LOWER(...) column
+     * @param search User input
+     * @return Lower-case, escaped pattern wrapped in %
+     */
+    public static String contains(String search) {
+        return "%" + escape(search.trim().toLowerCase(Locale.ROOT)) + "%";
+    }
+}
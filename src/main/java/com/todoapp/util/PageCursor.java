@@ -0,0 +1,62 @@
+// src/main/java/com/todoapp/util/PageCursor.java
+package com.todoapp.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursor: the (timestamp, id) of the last row on a page,
+ * where the timestamp is the sort column (createdAt for the todo list, dueDate for overdue).
+ * Encoded as base64url so clients treat it as an opaque string.
+ */
+public final class PageCursor {
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public PageCursor(LocalDateTime timestamp, Long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    /**
+     * Encode the cursor for a response
+     * @return Opaque cursor string
+     */
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor received from a client
+     * @param cursor Opaque cursor string
+     * @return Decoded cursor
+     * @throws IllegalArgumentException if the cursor is not one we issued
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,126 @@
+// src/main/java/com/todoapp/util/PrefixIndex.java
+package com.todoapp.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Compact prefix index over short texts (todo titles, category names).
+ * Normalized keys are kept in one sorted array with parallel arrays for the text to display
+ * and a reference count, so a prefix lookup is a binary search plus a scan of the matches,
+ * and texts shared by several todos are stored once.
+ * Thread-safe; each instance is small and belongs to a single user.
+ */
+public final class PrefixIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private String[] texts = new String[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Normalize text for matching: accents stripped, lower case, whitespace collapsed
+     * @param text Text as entered
+     * @return Normalized key, or null if the text is null or blank
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(text.trim(), Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    /**
+     * Add one occurrence of a text. The first spelling added is the one suggested.
+     * @param text Text to add; null or blank is ignored
+     */
+    public synchronized void add(String text) {
+        String key = normalize(text);
+        if (key == null) {
+            return;
+        }
+
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            counts[index]++;
+            return;
+        }
+
+        int insertAt = -index - 1;
+        if (size == keys.length) {
+            int capacity = size + (size >> 1);
+            keys = Arrays.copyOf(keys, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+        System.arraycopy(texts, insertAt, texts, insertAt + 1, size - insertAt);
+        System.arraycopy(counts, insertAt, counts, insertAt + 1, size - insertAt);
+        keys[insertAt] = key;
+        texts[insertAt] = text.trim();
+        counts[insertAt] = 1;
+        size++;
+    }
+
+    /**
+     * Remove one occurrence of a text; the entry goes once no occurrence is left
+     * @param text Text to remove; unknown, null or blank texts are ignored
+     */
+    public synchronized void remove(String text) {
+        String key = normalize(text);
+        if (key == null) {
+            return;
+        }
+
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0 || --counts[index] > 0) {
+            return;
+        }
+
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(texts, index + 1, texts, index, size - index - 1);
+        System.arraycopy(counts, index + 1, counts, index, size - index - 1);
+        size--;
+        keys[size] = null;
+        texts[size] = null;
+    }
+
+    /**
+     * Texts whose normalized form starts with the normalized prefix, in key order
+     * @param prefix Prefix as typed
+     * @param limit Maximum number of results
+     * @return Matching texts
+     */
+    public synchronized List<String> search(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key == null || limit <= 0) {
+            return List.of();
+        }
+
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        int start = index >= 0 ? index : -index - 1;
+        List<String> matches = new ArrayList<>(Math.min(limit, size - start));
+        for (int i = start; i < size && matches.size() < limit && keys[i].startsWith(key); i++) {
+            matches.add(texts[i]);
+        }
+        return matches;
+    }
+
+    /**
+     * @return Number of distinct entries
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,61 @@
+// src/main/java/com/todoapp/util/RateLimitedLogger.java
+package com.todoapp.util;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logger wrapper that writes at most one message per interval.
+ * Messages in between are counted and the count is reported with the next message,
+ * so hot paths can log failures without flooding the log under attack traffic.
+ */
+public class RateLimitedLogger {
+
+    private final Logger logger;
+    private final long intervalNanos;
+    private final AtomicLong nextLogNanos;
+    private final LongAdder suppressed = new LongAdder();
+
+    /**
+     * Wrap a logger
+     * @param logger Target logger
+     * @param interval Minimum time between two messages
+     */
+    public RateLimitedLogger(Logger logger, Duration interval) {
+        this.logger = logger;
+        this.intervalNanos = interval.toNanos();
+        this.nextLogNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Log a warning unless one was logged within the interval
+     * @param format SLF4J message format
+     * @param args Message arguments (a trailing Throwable is logged with its stack trace)
+     */
+    public void warn(String format, Object... args) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long next = nextLogNanos.get();
+        if (now - next < 0 || !nextLogNanos.compareAndSet(next, now + intervalNanos)) {
+            suppressed.increment();
+            return;
+        }
+
+        long dropped = suppressed.sumThenReset();
+        if (dropped == 0) {
+            logger.warn(format, args);
+            return;
+        }
+
+        Object[] withCount = new Object[args.length + 1];
+        withCount[0] = dropped;
+        System.arraycopy(args, 0, withCount, 1, args.length);
+        logger.warn("[{} similar suppressed] " + format, withCount);
+    }
+}
@@ -0,0 +1,61 @@
+// src/main/java/com/todoapp/util/SearchCursor.java
+package com.todoapp.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for ranked search results: the (rank, id) of the last row on a page.
+ * The rank is kept as the float the database returned, so it compares exactly on the next page.
+ * Encoded as base64url so clients treat it as an opaque string.
+ */
+public final class SearchCursor {
+
+    private final float rank;
+    private final Long id;
+
+    public SearchCursor(float rank, Long id) {
+        this.rank = rank;
+        this.id = id;
+    }
+
+    /**
+     * Encode the cursor for a response
+     * @return Opaque cursor string
+     */
+    public String encode() {
+        String raw = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor received from a client
+     * @param cursor Opaque cursor string
+     * @return Decoded cursor
+     * @throws IllegalArgumentException if the cursor is not one we issued
+     */
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            float rank = Float.parseFloat(raw.substring(0, separator));
+            if (!Float.isFinite(rank)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new SearchCursor(rank, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public float getRank() {
+        return rank;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
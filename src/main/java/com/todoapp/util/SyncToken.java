@@ -0,0 +1,62 @@
+// src/main/java/com/todoapp/util/SyncToken.java
+package com.todoapp.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque delta sync token: the user's todos version a client has seen, and when it was issued.
+ * The issue time lets the server tell when tombstones the client still needs may have been purged.
+ * Encoded as base64url so clients treat it as an opaque string.
+ */
+public final class SyncToken {
+
+    private final long version;
+    private final Instant issuedAt;
+
+    public SyncToken(long version, Instant issuedAt) {
+        this.version = version;
+        this.issuedAt = issuedAt;
+    }
+
+    /**
+     * Encode the token for a response
+     * @return Opaque token string
+     */
+    public String encode() {
+        String raw = version + "|" + issuedAt.toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token received from a client
+     * @param token Opaque token string
+     * @return Decoded token
+     * @throws IllegalArgumentException if the token is not one we issued
+     */
+    public static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            long version = Long.parseLong(raw.substring(0, separator));
+            if (version < 0) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            return new SyncToken(version, Instant.ofEpochMilli(Long.parseLong(raw.substring(separator + 1))));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sync token", e);
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+}
@@ -0,0 +1,17 @@
+-- Delta sync: every todo write stamps the row with the user's new todos_version, and deletes
+-- leave a tombstone with theirs, so a client holding version N fetches only what changed after N.
+-- Existing todos start at 0 and are covered by a client's first full sync.
+
+ALTER TABLE todos ADD COLUMN sync_version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE TABLE todo_tombstones (
+    todo_id         BIGINT       NOT NULL,
+    user_id         BIGINT       NOT NULL,
+    sync_version    BIGINT       NOT NULL,
+    deleted_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (todo_id),
+    CONSTRAINT fk_todo_tombstones_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_tombstone_user_sync ON todo_tombstones (user_id, sync_version);
+CREATE INDEX idx_tombstone_deleted_at ON todo_tombstones (deleted_at);
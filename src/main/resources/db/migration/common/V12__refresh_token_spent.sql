@@ -0,0 +1,14 @@
+-- Every token a refresh session has rotated away from, kept until the session itself is gone,
+-- so a replayed token is recognised however many rotations ago it was spent.
+-- previous_token_hash on refresh_tokens only reaches one rotation back.
+
+CREATE TABLE refresh_token_spent (
+    token_hash      VARCHAR(64)  NOT NULL,
+    session_id      BIGINT       NOT NULL,
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (token_hash),
+    CONSTRAINT fk_refresh_token_spent_session FOREIGN KEY (session_id) REFERENCES refresh_tokens (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_token_spent_session ON refresh_token_spent (session_id);
+CREATE INDEX idx_refresh_token_spent_expires_at ON refresh_token_spent (expires_at);
@@ -0,0 +1,4 @@
+-- Per-user token version: bumped on password change and deactivation so that tokens carrying
+-- an older version are rejected. IF NOT EXISTS because ddl-auto may already have added it.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER DEFAULT 0 NOT NULL;
@@ -0,0 +1,9 @@
+-- Persistent copy of the logout denylist, reloaded at startup; rows are purged once expired.
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_id        VARCHAR(64)  NOT NULL,
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (token_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_token_expires_at ON revoked_tokens (expires_at);
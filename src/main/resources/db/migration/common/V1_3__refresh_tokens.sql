@@ -0,0 +1,18 @@
+-- Server-side refresh tokens, stored as hashes. previous_token_hash links a rotated token to the
+-- one it replaced so that reuse of a spent token can be detected.
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id             BIGINT       NOT NULL,
+    token_hash          VARCHAR(64)  NOT NULL,
+    previous_token_hash VARCHAR(64),
+    expires_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_used_at        TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (id),
+    CONSTRAINT idx_refresh_token_hash UNIQUE (token_hash)
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_previous_hash ON refresh_tokens (previous_token_hash);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_expires_at ON refresh_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user ON refresh_tokens (user_id);
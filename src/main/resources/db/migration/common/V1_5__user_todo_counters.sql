@@ -0,0 +1,11 @@
+-- Per-user todo counters for stats. Starts empty: TodoCounterService seeds a user's rows from
+-- their todos on the first mutation after this runs.
+
+CREATE TABLE IF NOT EXISTS user_todo_counters (
+    user_id         BIGINT       NOT NULL,
+    dimension       VARCHAR(16)  NOT NULL CHECK (dimension IN ('TOTAL', 'PRIORITY', 'CATEGORY')),
+    dim_key         VARCHAR(100) NOT NULL,
+    total           BIGINT       NOT NULL,
+    completed       BIGINT       NOT NULL,
+    PRIMARY KEY (user_id, dimension, dim_key)
+);
@@ -0,0 +1,39 @@
+-- Baseline: the schema as Hibernate's ddl-auto built it from the original entities, before any
+-- of the later tables, columns or indexes. Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and skip it, so it must not contain anything newer.
+
+CREATE TABLE users (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name            VARCHAR(50)  NOT NULL,
+    email           VARCHAR(100) NOT NULL,
+    password        VARCHAR(255) NOT NULL,
+    role            VARCHAR(255) NOT NULL CHECK (role IN ('USER', 'ADMIN')),
+    is_active       BOOLEAN      NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE todos (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title           VARCHAR(200) NOT NULL,
+    description     TEXT,
+    completed       BOOLEAN      NOT NULL,
+    priority        VARCHAR(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    category        VARCHAR(100),
+    due_date        TIMESTAMP(6),
+    display_order   INTEGER,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    completed_at    TIMESTAMP(6),
+    user_id         BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_todos_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_todo_user ON todos (user_id);
+CREATE INDEX idx_todo_completed ON todos (completed);
+CREATE INDEX idx_todo_priority ON todos (priority);
+CREATE INDEX idx_todo_due_date ON todos (due_date);
+CREATE INDEX idx_todo_display_order ON todos (display_order);
@@ -0,0 +1,26 @@
+-- Category dictionary: todos reference a per-user category row by integer id instead of
+-- repeating the name, and each row keeps the number of todos that reference it.
+-- The todos side is split across V8.1 (backfill) and V8.2 (indexes) so that no step rewrites
+-- or locks the whole table at once. todos.category is left in place, unmapped, so instances
+-- still on the previous release keep writing it during a rolling deploy; a later release
+-- backfills the rows they wrote and drops the column.
+
+CREATE TABLE categories (
+    id              INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    user_id         BIGINT       NOT NULL,
+    name            VARCHAR(100) NOT NULL,
+    todo_count      INTEGER      DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_categories_user_name UNIQUE (user_id, name),
+    CONSTRAINT fk_categories_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- One row per distinct (user, name); blank names become "no category"
+INSERT INTO categories (user_id, name, todo_count)
+SELECT user_id, category, COUNT(*)
+FROM todos
+WHERE category IS NOT NULL AND TRIM(category) <> ''
+GROUP BY user_id, category;
+
+-- Nullable without a default, so adding it does not rewrite the table
+ALTER TABLE todos ADD COLUMN category_id INTEGER;
@@ -0,0 +1,4 @@
+-- Per-user version of the todo data, bumped by every todo mutation and served as the
+-- ETag of the todo list, stats and categories.
+
+ALTER TABLE users ADD COLUMN todos_version BIGINT DEFAULT 0 NOT NULL;
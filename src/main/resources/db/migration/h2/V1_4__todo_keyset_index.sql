@@ -0,0 +1,2 @@
+-- Same index as the PostgreSQL migration, without CONCURRENTLY.
+CREATE INDEX IF NOT EXISTS idx_todo_user_completed_created ON todos (user_id, completed, created_at, id);
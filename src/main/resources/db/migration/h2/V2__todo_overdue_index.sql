@@ -0,0 +1,2 @@
+-- H2 has no partial indexes; the full composite serves the same queries.
+CREATE INDEX IF NOT EXISTS idx_todo_user_overdue ON todos (user_id, completed, due_date, id);
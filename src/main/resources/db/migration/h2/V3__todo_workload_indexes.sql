@@ -0,0 +1,11 @@
+-- Same index set as the PostgreSQL migration, without CONCURRENTLY.
+CREATE INDEX IF NOT EXISTS idx_todo_user_created_desc ON todos (user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_todo_user_display_order ON todos (user_id, display_order);
+CREATE INDEX IF NOT EXISTS idx_todo_user_category ON todos (user_id, category, created_at DESC);
+
+DROP INDEX IF EXISTS idx_todo_user_created;
+DROP INDEX IF EXISTS idx_todo_user;
+DROP INDEX IF EXISTS idx_todo_completed;
+DROP INDEX IF EXISTS idx_todo_priority;
+DROP INDEX IF EXISTS idx_todo_display_order;
+DROP INDEX IF EXISTS idx_todo_user_open_due;
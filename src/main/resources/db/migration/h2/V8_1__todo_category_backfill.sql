@@ -0,0 +1,6 @@
+-- Same backfill as the PostgreSQL migration, in one statement.
+UPDATE todos
+SET category_id = (SELECT c.id FROM categories c WHERE c.user_id = todos.user_id AND c.name = todos.category)
+WHERE category IS NOT NULL AND TRIM(category) <> '';
+
+ALTER TABLE todos ADD CONSTRAINT fk_todos_category FOREIGN KEY (category_id) REFERENCES categories (id);
@@ -0,0 +1,6 @@
+-- Same indexes as the PostgreSQL migration, without CONCURRENTLY.
+DROP INDEX IF EXISTS idx_todo_user_stats;
+DROP INDEX IF EXISTS idx_todo_user_category;
+
+CREATE INDEX IF NOT EXISTS idx_todo_user_stats ON todos (user_id, priority, category_id, completed, due_date);
+CREATE INDEX IF NOT EXISTS idx_todo_user_category ON todos (user_id, category_id, created_at DESC);
@@ -0,0 +1,3 @@
+-- Delta sync: WHERE user_id = ? AND sync_version > ?, a short range at the end of the user's entries.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_user_sync
+    ON todos (user_id, sync_version);
@@ -0,0 +1,5 @@
+-- Keyset pages filtered by completion: WHERE user_id = ? AND completed = ? ORDER BY created_at DESC, id DESC.
+-- The (user_id, created_at, id) and stats indexes added alongside it are not built here:
+-- V3 replaces the first and V8 rebuilds the second on category_id.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_user_completed_created
+    ON todos (user_id, completed, created_at, id);
@@ -0,0 +1,4 @@
+-- Overdue listing and counts: completed todos never enter this index, so its size
+-- tracks open todos only. IF NOT EXISTS because it used to be created at startup.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_user_overdue
+    ON todos (user_id, due_date, id) WHERE completed = false;
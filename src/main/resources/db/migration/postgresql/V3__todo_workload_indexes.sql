@@ -0,0 +1,30 @@
+-- Index set matched to the per-user queries in TodoRepository.
+-- Built and dropped CONCURRENTLY so writes to todos are not blocked on large tables.
+
+-- List and keyset pages: WHERE user_id = ? ORDER BY created_at DESC, id DESC
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_user_created_desc
+    ON todos (user_id, created_at DESC, id DESC);
+
+-- Drag-and-drop ordering
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_user_display_order
+    ON todos (user_id, display_order);
+
+-- Category filter (newest first) and the distinct category list
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_user_category
+    ON todos (user_id, category, created_at DESC);
+
+-- Replaced by idx_todo_user_created_desc
+DROP INDEX CONCURRENTLY IF EXISTS idx_todo_user_created;
+
+-- Every per-user index starts with user_id, so the single-column one is redundant
+DROP INDEX CONCURRENTLY IF EXISTS idx_todo_user;
+
+-- Low selectivity (two or three distinct values across all users); never chosen by the planner
+DROP INDEX CONCURRENTLY IF EXISTS idx_todo_completed;
+DROP INDEX CONCURRENTLY IF EXISTS idx_todo_priority;
+
+-- Global display order is meaningless; replaced by idx_todo_user_display_order
+DROP INDEX CONCURRENTLY IF EXISTS idx_todo_display_order;
+
+-- Briefly declared on the entity before idx_todo_user_overdue replaced it
+DROP INDEX CONCURRENTLY IF EXISTS idx_todo_user_open_due;
@@ -0,0 +1,11 @@
+-- Full-text search over title (weight A) and description (weight B).
+-- Generated and stored, so it can never drift from the text columns.
+-- Adding a stored generated column rewrites todos once, under an exclusive lock.
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+-- Lets the GIN index below carry the user_id equality next to the tsvector
+CREATE EXTENSION IF NOT EXISTS btree_gin;
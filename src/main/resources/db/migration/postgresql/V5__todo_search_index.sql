@@ -0,0 +1,4 @@
+-- Search: WHERE user_id = ? AND search_vector @@ query.
+-- user_id is part of the index, so a search only touches the caller's matching rows.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_user_search
+    ON todos USING GIN (user_id, search_vector);
@@ -0,0 +1,2 @@
+-- Trigram matching for fuzzy title search (fragments and misspellings)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
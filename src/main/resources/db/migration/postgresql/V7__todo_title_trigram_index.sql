@@ -0,0 +1,4 @@
+-- Fuzzy search: WHERE user_id = ? AND (lower(title) LIKE '%term%' OR term <% lower(title)).
+-- user_id (via btree_gin) keeps every lookup inside the caller's todos.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_user_title_trgm
+    ON todos USING GIN (user_id, LOWER(title) gin_trgm_ops);
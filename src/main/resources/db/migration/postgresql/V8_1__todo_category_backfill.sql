@@ -0,0 +1,26 @@
+-- Points todos at their category row in id ranges of 5000, committing after each range so
+-- no transaction holds row locks on, or writes WAL for, the whole table.
+-- Runs outside a transaction (see the .conf file), which COMMIT inside DO requires.
+DO $$
+DECLARE
+    batch_start BIGINT;
+    last_id     BIGINT;
+BEGIN
+    SELECT MIN(id), MAX(id) INTO batch_start, last_id FROM todos;
+    WHILE batch_start <= last_id LOOP
+        UPDATE todos t
+        SET category_id = c.id
+        FROM categories c
+        WHERE t.id >= batch_start AND t.id < batch_start + 5000
+          AND t.category_id IS NULL
+          AND c.user_id = t.user_id AND c.name = t.category;
+        COMMIT;
+        batch_start := batch_start + 5000;
+    END LOOP;
+END $$;
+
+-- NOT VALID takes the lock only long enough to add the constraint; VALIDATE then scans
+-- the table without blocking writes
+ALTER TABLE todos ADD CONSTRAINT fk_todos_category
+    FOREIGN KEY (category_id) REFERENCES categories (id) NOT VALID;
+ALTER TABLE todos VALIDATE CONSTRAINT fk_todos_category;
@@ -0,0 +1,9 @@
+-- Rebuild the indexes that carried the category name on the integer id, CONCURRENTLY so
+-- writes to todos are not blocked while they build.
+DROP INDEX CONCURRENTLY IF EXISTS idx_todo_user_stats;
+DROP INDEX CONCURRENTLY IF EXISTS idx_todo_user_category;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_user_stats
+    ON todos (user_id, priority, category_id, completed, due_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_user_category
+    ON todos (user_id, category_id, created_at DESC);
@@ -0,0 +1,106 @@
+// src/test/java/com/todoapp/config/FlywayMigrationTest.java
+package com.todoapp.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Flyway Migration Tests")
+class FlywayMigrationTest {
+
+    private static final List<String> LATER_TABLES =
+            List.of("REVOKED_TOKENS", "REFRESH_TOKENS", "USER_TODO_COUNTERS", "CATEGORIES", "TODO_TOMBSTONES",
+                    "REFRESH_TOKEN_SPENT");
+
+    private static String url(String name) {
+        return "jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    }
+
+    private static Flyway flyway(String url, String target) {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .target(target)
+                .load();
+    }
+
+    private static boolean exists(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(null, null, table, column)) {
+            return rs.next();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep V1 to the schema that predates the migrations")
+    void testBaselineIsPreSeriesSchema() throws SQLException {
+        String url = url("baseline_only");
+        flyway(url, "1").migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            assertTrue(exists(connection, "USERS", "EMAIL"));
+            assertFalse(exists(connection, "USERS", "TOKEN_VERSION"));
+            for (String table : LATER_TABLES) {
+                assertFalse(exists(connection, table, null), table);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should bring a database created by ddl-auto up to date after baselining it")
+    void testBaselinedDatabaseMigrated() throws SQLException {
+        String url = url("pre_series");
+
+        // The pre-series schema without a history table, as ddl-auto left it
+        flyway(url, "1").migrate();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE \"flyway_schema_history\"");
+            statement.execute("INSERT INTO users (name, email, password, role, is_active, created_at, updated_at) "
+                    + "VALUES ('John', 'john@example.com', 'hash', 'USER', TRUE, NOW(), NOW())");
+            statement.execute("INSERT INTO todos (title, completed, priority, category, created_at, updated_at, user_id) "
+                    + "SELECT 'Report', FALSE, 'HIGH', 'Work', NOW(), NOW(), id FROM users");
+            statement.execute("INSERT INTO todos (title, completed, priority, category, created_at, updated_at, user_id) "
+                    + "SELECT 'Walk', FALSE, 'LOW', ' ', NOW(), NOW(), id FROM users");
+        }
+
+        flyway(url, "latest").migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            assertTrue(exists(connection, "USERS", "TOKEN_VERSION"));
+            assertTrue(exists(connection, "TODOS", "CATEGORY_ID"));
+            for (String table : LATER_TABLES) {
+                assertTrue(exists(connection, table, null), table);
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT token_version FROM users")) {
+                assertTrue(rs.next());
+                assertEquals(0, rs.getInt(1));
+            }
+            // Kept for instances on the previous release until a later migration drops it
+            assertTrue(exists(connection, "TODOS", "CATEGORY"));
+
+            // Named categories are backfilled into the dictionary, blank ones become null
+            try (ResultSet rs = statement.executeQuery("SELECT t.title, c.name, c.todo_count FROM todos t "
+                    + "LEFT JOIN categories c ON c.id = t.category_id ORDER BY t.title")) {
+                assertTrue(rs.next());
+                assertEquals("Report", rs.getString(1));
+                assertEquals("Work", rs.getString(2));
+                assertEquals(1, rs.getInt(3));
+                assertTrue(rs.next());
+                assertEquals("Walk", rs.getString(1));
+                assertNull(rs.getString(2));
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+// src/test/java/com/todoapp/config/ReplicaRoutingDataSourceTest.java
+package com.todoapp.config;
+
+import com.todoapp.entity.User;
+import com.todoapp.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing tests against two in-memory H2 databases standing in for the primary and a replica.
+ * Each database has a one-row "node" table naming itself, so a query shows where it ran.
+ */
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("routing_primary");
+        replica = h2("routing_replica");
+        for (DataSource dataSource : List.of(primary, replica)) {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("DROP TABLE IF EXISTS node");
+            jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+            jdbc.update("INSERT INTO node VALUES (?)", dataSource == primary ? "primary" : "replica");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the rest to the primary")
+    void testRoutesByReadOnlyFlag() {
+        Routing routing = new Routing(List.of(replica));
+
+        assertEquals("replica", routing.read());
+        assertEquals("primary", routing.write());
+        assertEquals("primary", new JdbcTemplate(routing.proxy).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    @DisplayName("Should keep a user's reads on the primary after their write commits")
+    void testReadYourWrites() {
+        Routing routing = new Routing(List.of(replica));
+
+        authenticate(1L);
+        assertEquals("primary", routing.write());
+        assertEquals("primary", routing.read());
+
+        authenticate(2L);
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    @DisplayName("Should apply read-your-writes to a user named by readAs without a security context")
+    void testReadAs() {
+        Routing routing = new Routing(List.of(replica));
+
+        authenticate(1L);
+        assertEquals("primary", routing.write());
+        SecurityContextHolder.clearContext();
+
+        // A push or scheduled thread reading for the user who just wrote
+        assertEquals("replica", routing.read());
+        assertEquals("primary", ReplicaRoutingDataSource.readAs(1L, routing::read));
+        assertEquals("replica", ReplicaRoutingDataSource.readAs(2L, routing::read));
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    @DisplayName("Should keep reads on the primary on another node when the client brings its write marker")
+    void testReadYourWritesAcrossNodes() throws Exception {
+        Routing nodeA = new Routing(List.of(replica));
+        Routing nodeB = new Routing(List.of(replica));
+        authenticate(1L);
+
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        assertEquals("primary", serve(new MockHttpServletRequest(), writeResponse, nodeA::write));
+        Cookie marker = writeResponse.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(marker);
+        assertTrue(writeResponse.getHeader(HttpHeaders.SET_COOKIE).contains("HttpOnly"));
+
+        // Node B never saw the write; only the marker keeps the read off the replica
+        MockHttpServletRequest withMarker = new MockHttpServletRequest();
+        withMarker.setCookies(marker);
+        assertEquals("primary", serve(withMarker, new MockHttpServletResponse(), nodeB::read));
+        assertEquals("replica", serve(new MockHttpServletRequest(), new MockHttpServletResponse(), nodeB::read));
+
+        // Expired or far-future markers are ignored
+        MockHttpServletRequest expired = new MockHttpServletRequest();
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(System.currentTimeMillis() - 1000)));
+        assertEquals("replica", serve(expired, new MockHttpServletResponse(), nodeB::read));
+        MockHttpServletRequest forged = new MockHttpServletRequest();
+        forged.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(Long.MAX_VALUE)));
+        assertEquals("replica", serve(forged, new MockHttpServletResponse(), nodeB::read));
+    }
+
+    @Test
+    @DisplayName("Should serve per-call credentials from the primary")
+    void testPerCallCredentials() throws Exception {
+        Routing routing = new Routing(List.of(replica));
+
+        try (Connection connection = routing.router.getConnection("sa", "");
+             ResultSet rs = connection.createStatement().executeQuery("SELECT name FROM node")) {
+            assertTrue(rs.next());
+            assertEquals("primary", rs.getString(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica is down")
+    void testFallbackWhenReplicaDown() {
+        DriverManagerDataSource down = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable", "sa", "");
+        Routing routing = new Routing(List.of(down, replica));
+
+        assertEquals("replica", routing.read());
+        assertEquals("replica", routing.read());
+        assertEquals(1, routing.router.getHealthyReplicaCount());
+
+        routing.router.checkReplicas();
+        assertEquals(1, routing.router.getHealthyReplicaCount());
+
+        Routing allDown = new Routing(List.of(down));
+        assertEquals("primary", allDown.read());
+        assertEquals(0, allDown.router.getHealthyReplicaCount());
+    }
+
+    /**
+     * Run a transaction inside ReadYourWritesFilter, as a request to one node would
+     */
+    private static String serve(MockHttpServletRequest request, MockHttpServletResponse response,
+                                Supplier<String> transaction) throws Exception {
+        AtomicReference<String> result = new AtomicReference<>();
+        new ReadYourWritesFilter().doFilter(request, response, (req, res) -> result.set(transaction.get()));
+        return result.get();
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static void authenticate(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId + "@example.com", "", User.Role.USER, true, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList()));
+    }
+
+    /**
+     * Router wired the way DataSourceConfig wires it, with transaction templates on top
+     */
+    private final class Routing {
+
+        private final ReplicaRoutingDataSource router;
+        private final DataSource proxy;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+
+        Routing(List<DataSource> replicas) {
+            router = new ReplicaRoutingDataSource(primary, replicas, Duration.ofMinutes(1), Duration.ofSeconds(1),
+                    new SimpleMeterRegistry());
+            proxy = new LazyConnectionDataSourceProxy(router);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(proxy);
+            readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readWrite = new TransactionTemplate(transactionManager);
+        }
+
+        String read() {
+            return readOnly.execute(status ->
+                    new JdbcTemplate(proxy).queryForObject("SELECT name FROM node", String.class));
+        }
+
+        String write() {
+            return readWrite.execute(status -> {
+                JdbcTemplate jdbc = new JdbcTemplate(proxy);
+                jdbc.update("UPDATE node SET name = name");
+                return jdbc.queryForObject("SELECT name FROM node", String.class);
+            });
+        }
+    }
+}
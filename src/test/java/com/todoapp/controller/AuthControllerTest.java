@@ -2,10 +2,15 @@
 package com.todoapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.todoapp.dto.auth.LoginRequestDTO;
+import com.todoapp.dto.auth.RefreshTokenRequestDTO;
 import com.todoapp.dto.auth.RegisterRequestDTO;
 import com.todoapp.entity.User;
 import com.todoapp.repository.UserRepository;
+import com.todoapp.security.LoginThrottle;
+import com.todoapp.security.UserDetailsCache;
+import com.todoapp.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,12 +18,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -41,9 +48,20 @@ class AuthControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private UserService userService;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
+        userDetailsCache.invalidateAll();
+        loginThrottle.reset();
     }
 
     @Test
@@ -63,6 +81,132 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.user.name", is("John Doe")));
     }
 
+    @Test
+    @DisplayName("Should rotate refresh tokens and revoke the session on reuse")
+    void testRefreshTokenRotation() throws Exception {
+        RegisterRequestDTO registerRequest = new RegisterRequestDTO();
+        registerRequest.setName("John Doe");
+        registerRequest.setEmail("john@example.com");
+        registerRequest.setPassword("Password123!");
+
+        String registerResponse = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String firstToken = objectMapper.readTree(registerResponse).get("refreshToken").asText();
+
+        RefreshTokenRequestDTO refreshRequest = new RefreshTokenRequestDTO();
+        refreshRequest.setRefreshToken(firstToken);
+
+        String refreshResponse = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.name", is("John Doe")))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode rotated = objectMapper.readTree(refreshResponse);
+        String secondToken = rotated.get("refreshToken").asText();
+
+        // Replaying the used token is rejected and revokes the session
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isUnauthorized());
+
+        refreshRequest.setRefreshToken(secondToken);
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should revoke the session when a token spent two rotations ago is replayed")
+    void testRefreshTokenReuseAfterTwoRotations() throws Exception {
+        RegisterRequestDTO registerRequest = new RegisterRequestDTO();
+        registerRequest.setName("John Doe");
+        registerRequest.setEmail("john@example.com");
+        registerRequest.setPassword("Password123!");
+
+        String registerResponse = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String stolenToken = objectMapper.readTree(registerResponse).get("refreshToken").asText();
+
+        // The real client rotates twice, so the stolen token is no longer the session's previous one
+        String currentToken = stolenToken;
+        for (int i = 0; i < 2; i++) {
+            RefreshTokenRequestDTO refreshRequest = new RefreshTokenRequestDTO();
+            refreshRequest.setRefreshToken(currentToken);
+            String refreshResponse = mockMvc.perform(post("/api/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(refreshRequest)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            currentToken = objectMapper.readTree(refreshResponse).get("refreshToken").asText();
+        }
+
+        RefreshTokenRequestDTO replay = new RefreshTokenRequestDTO();
+        replay.setRefreshToken(stolenToken);
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(replay)))
+                .andExpect(status().isUnauthorized());
+
+        // The replay revoked the whole session, including the real client's current token
+        RefreshTokenRequestDTO current = new RefreshTokenRequestDTO();
+        current.setRefreshToken(currentToken);
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(current)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should reject the cached principal of a deactivated user on the next request")
+    void testDeactivatedUserRejected() throws Exception {
+        JsonNode auth = register("john@example.com");
+        String accessToken = auth.get("token").asText();
+
+        // Caches the principal
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        userService.deactivateUser(auth.get("user").get("id").asLong());
+
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should not accept a refresh token as a bearer token, before or after logout")
+    void testRefreshTokenNotBearer() throws Exception {
+        JsonNode auth = register("john@example.com");
+        String accessToken = auth.get("token").asText();
+        String refreshToken = auth.get("refreshToken").asText();
+
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + refreshToken))
+                .andExpect(status().isUnauthorized());
+
+        RefreshTokenRequestDTO logoutRequest = new RefreshTokenRequestDTO();
+        logoutRequest.setRefreshToken(refreshToken);
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(logoutRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + refreshToken))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     @DisplayName("Should not register user with existing email")
     void testRegisterDuplicateEmail() throws Exception {
@@ -97,18 +241,48 @@ class AuthControllerTest {
         testUser.setPassword(passwordEncoder.encode("Password123!"));
         testUser.setRole(User.Role.USER);
         testUser.setIsActive(true);
-        userRepository.save(testUser);
+        testUser = userRepository.save(testUser);
 
         LoginRequestDTO loginRequest = new LoginRequestDTO();
         loginRequest.setEmail("test@example.com");
         loginRequest.setPassword("Password123!");
 
+        // The user in the response comes from the authenticated principal
         mockMvc.perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token", notNullValue()))
-                .andExpect(jsonPath("$.user.email", is("test@example.com")));
+                .andExpect(jsonPath("$.user.id", is(testUser.getId().intValue())))
+                .andExpect(jsonPath("$.user.name", is("Test User")))
+                .andExpect(jsonPath("$.user.email", is("test@example.com")))
+                .andExpect(jsonPath("$.user.role", is("USER")))
+                .andExpect(jsonPath("$.user.isActive", is(true)));
+    }
+
+    @Test
+    @DisplayName("Should rehash a password stored with a lower BCrypt cost on login")
+    void testRehashOnLogin() throws Exception {
+        User testUser = new User();
+        testUser.setName("Test User");
+        testUser.setEmail("test@example.com");
+        testUser.setPassword(new BCryptPasswordEncoder(4).encode("Password123!"));
+        testUser.setRole(User.Role.USER);
+        testUser.setIsActive(true);
+        userRepository.save(testUser);
+
+        LoginRequestDTO loginRequest = new LoginRequestDTO();
+        loginRequest.setEmail("test@example.com");
+        loginRequest.setPassword("Password123!");
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        String rehashed = userRepository.findByEmail("test@example.com").orElseThrow().getPassword();
+        assertTrue(rehashed.startsWith("$2a$10$"), rehashed);
+        assertTrue(passwordEncoder.matches("Password123!", rehashed));
     }
 
     @Test
@@ -147,6 +321,28 @@ class AuthControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @DisplayName("Should throttle repeated login attempts for the same account")
+    void testLoginThrottled() throws Exception {
+        LoginRequestDTO loginRequest = new LoginRequestDTO();
+        loginRequest.setEmail("nonexistent@example.com");
+        loginRequest.setPassword("Password123!");
+
+        // Burst capacity per account is 10 attempts
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(loginRequest)))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+    }
+
     @Test
     @DisplayName("Should validate registration email format")
     void testRegisterInvalidEmail() throws Exception {
@@ -186,4 +382,18 @@ class AuthControllerTest {
                         .content(objectMapper.writeValueAsString(registerRequest)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    private JsonNode register(String email) throws Exception {
+        RegisterRequestDTO registerRequest = new RegisterRequestDTO();
+        registerRequest.setName("John Doe");
+        registerRequest.setEmail(email);
+        registerRequest.setPassword("Password123!");
+
+        String response = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
@@ -0,0 +1,147 @@
+// src/test/java/com/todoapp/controller/StatelessPrincipalTest.java
+package com.todoapp.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.auth.LoginRequestDTO;
+import com.todoapp.dto.auth.RegisterRequestDTO;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.security.LoginThrottle;
+import com.todoapp.security.TokenVersionRegistry;
+import com.todoapp.security.UserDetailsCache;
+import com.todoapp.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Requests authenticated in stateless principal mode, where the filter builds the principal
+ * from token claims and checks only the token version held by TokenVersionRegistry.
+ */
+@SpringBootTest(properties = "app.auth.stateless-principal=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Stateless Principal Integration Tests")
+class StatelessPrincipalTest {
+
+    private static final String EMAIL = "john@example.com";
+    private static final String PASSWORD = "Password123!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    private String accessToken;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userRepository.deleteAll();
+        userDetailsCache.invalidateAll();
+        tokenVersionRegistry.invalidateAll();
+        loginThrottle.reset();
+
+        RegisterRequestDTO registerRequest = new RegisterRequestDTO();
+        registerRequest.setName("John Doe");
+        registerRequest.setEmail(EMAIL);
+        registerRequest.setPassword(PASSWORD);
+        JsonNode auth = objectMapper.readTree(mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        accessToken = auth.get("token").asText();
+        userId = auth.get("user").get("id").asLong();
+
+        // Loads the current token version into the registry
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued before a password change")
+    void testPasswordChangeRevokesTokens() throws Exception {
+        mockMvc.perform(post("/api/auth/change-password")
+                        .param("email", EMAIL)
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"" + PASSWORD + "\",\"newPassword\":\"NewPassword123!\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+
+        // Tokens issued after the change carry the new version
+        LoginRequestDTO loginRequest = new LoginRequestDTO();
+        loginRequest.setEmail(EMAIL);
+        loginRequest.setPassword("NewPassword123!");
+        String newToken = objectMapper.readTree(mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + newToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued before an email change")
+    void testEmailChangeRevokesTokens() throws Exception {
+        userService.updateUser(userId, "John Doe", "johnny@example.com");
+
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should keep tokens valid when only the name changes")
+    void testNameChangeKeepsTokens() throws Exception {
+        userService.updateUser(userId, "Johnny Doe", EMAIL);
+
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens of a deactivated user")
+    void testDeactivationRevokesTokens() throws Exception {
+        userService.deactivateUser(userId);
+
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -1,13 +1,25 @@
 // src/test/java/com/todoapp/controller/TodoControllerTest.java
 package com.todoapp.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.todoapp.dto.TodoRequestDTO;
+import com.todoapp.entity.Category;
 import com.todoapp.entity.Todo;
 import com.todoapp.entity.User;
+import com.todoapp.entity.UserTodoCounter;
+import com.todoapp.repository.CategoryRepository;
 import com.todoapp.repository.TodoRepository;
 import com.todoapp.repository.UserRepository;
+import com.todoapp.repository.UserTodoCounterRepository;
+import com.todoapp.security.LoginThrottle;
+import com.todoapp.security.UserDetailsCache;
+import com.todoapp.service.TodoCounterService;
+import com.todoapp.service.TodoPushService;
+import com.todoapp.service.TodoService;
+import com.todoapp.service.TodoSuggestService;
 import com.todoapp.util.JwtUtil;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,11 +30,17 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -42,6 +60,9 @@ class TodoControllerTest {
     @Autowired
     private TodoRepository todoRepository;
 
+    @Autowired
+    private CategoryRepository categoryRepository;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -51,6 +72,27 @@ class TodoControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private TodoCounterService todoCounterService;
+
+    @Autowired
+    private TodoSuggestService todoSuggestService;
+
+    @Autowired
+    private TodoPushService todoPushService;
+
+    @Autowired
+    private UserTodoCounterRepository userTodoCounterRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private User testUser;
     private String jwtToken;
     private Todo testTodo;
@@ -59,7 +101,11 @@ class TodoControllerTest {
     void setUp() {
         // Clean database
         todoRepository.deleteAll();
+        categoryRepository.deleteAll();
         userRepository.deleteAll();
+        userDetailsCache.invalidateAll();
+        todoSuggestService.invalidateAll();
+        loginThrottle.reset();
 
         // Create test user
         testUser = new User();
@@ -89,7 +135,9 @@ class TodoControllerTest {
         testTodo.setDescription("Test Description");
         testTodo.setCompleted(false);
         testTodo.setPriority(Todo.Priority.HIGH);
-        testTodo.setCategory("Work");
+        Category work = new Category(testUser.getId(), "Work");
+        work.setTodoCount(1);
+        testTodo.setCategory(categoryRepository.save(work));
         testTodo.setUser(testUser);
         testTodo = todoRepository.save(testTodo);
     }
@@ -198,6 +246,317 @@ class TodoControllerTest {
                 .andExpect(jsonPath("$[0].priority", is("HIGH")));
     }
 
+    @Test
+    @DisplayName("Should page through todos with a cursor")
+    void testCursorPagination() throws Exception {
+        for (int i = 1; i <= 4; i++) {
+            Todo todo = new Todo();
+            todo.setTitle("Todo " + i);
+            todo.setUser(testUser);
+            todoRepository.save(todo);
+        }
+
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/api/todos")
+                    .param("limit", "2")
+                    .header("Authorization", "Bearer " + jwtToken);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(lessThanOrEqualTo(2))))
+                    .andReturn().getResponse().getContentAsString();
+
+            JsonNode page = objectMapper.readTree(body);
+            page.get("items").forEach(item -> seen.add(item.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, seen.size());
+        assertEquals(3, pages);
+
+        mockMvc.perform(get("/api/todos")
+                        .param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should page through overdue todos by due date")
+    void testOverduePagination() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 3; i++) {
+            Todo todo = new Todo();
+            todo.setTitle("Overdue " + i);
+            todo.setDueDate(now.minusDays(i));
+            todo.setUser(testUser);
+            todoRepository.save(todo);
+        }
+        Todo done = new Todo();
+        done.setTitle("Done late");
+        done.setDueDate(now.minusDays(10));
+        done.setCompleted(true);
+        done.setUser(testUser);
+        todoRepository.save(done);
+
+        String body = mockMvc.perform(get("/api/todos/overdue")
+                        .param("limit", "2")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].title", is("Overdue 3")))
+                .andExpect(jsonPath("$.items[1].title", is("Overdue 2")))
+                .andExpect(jsonPath("$.hasMore", is(true)))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/todos/overdue")
+                        .param("limit", "2")
+                        .param("cursor", objectMapper.readTree(body).get("nextCursor").asText())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Overdue 1")))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+
+        mockMvc.perform(get("/api/todos/overdue/count")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count", is(3)));
+    }
+
+    @Test
+    @DisplayName("Should search only the user's todos, title matches first, with filters and paging")
+    void testFullTextSearch() throws Exception {
+        User otherUser = new User();
+        otherUser.setName("Other User");
+        otherUser.setEmail("other@example.com");
+        otherUser.setPassword(passwordEncoder.encode("password123"));
+        otherUser.setRole(User.Role.USER);
+        otherUser.setIsActive(true);
+        otherUser = userRepository.save(otherUser);
+
+        saveTodo(testUser, "Groceries", "Milk and eggs", false);
+        saveTodo(testUser, "Buy milk", null, false);
+        saveTodo(testUser, "Milk the cow", "Farm chores", true);
+        saveTodo(otherUser, "Buy milk", "Not yours", false);
+
+        String body = mockMvc.perform(get("/api/todos/search")
+                        .param("q", "milk")
+                        .param("completed", "false")
+                        .param("limit", "1")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Buy milk")))
+                .andExpect(jsonPath("$.hasMore", is(true)))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/todos/search")
+                        .param("q", "milk")
+                        .param("completed", "false")
+                        .param("limit", "1")
+                        .param("cursor", objectMapper.readTree(body).get("nextCursor").asText())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Groceries")))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+
+        mockMvc.perform(get("/api/todos/search")
+                        .param("q", "milk")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[*].description", not(hasItem("Not yours"))));
+
+        mockMvc.perform(get("/api/todos/search")
+                        .param("q", " ")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should find title fragments in fuzzy search mode")
+    void testFuzzySearchMode() throws Exception {
+        saveTodo(testUser, "Pay invoices", null, false);
+        saveTodo(testUser, "Invoice Q3", null, false);
+        saveTodo(testUser, "Call the bank", "About the invoice", false);
+
+        mockMvc.perform(get("/api/todos")
+                        .param("search", "invo")
+                        .param("searchMode", "FUZZY")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title", is("Invoice Q3")))
+                .andExpect(jsonPath("$[1].title", is("Pay invoices")));
+
+        mockMvc.perform(get("/api/todos")
+                        .param("search", "invo")
+                        .param("searchMode", "FUZZY")
+                        .param("limit", "1")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Invoice Q3")))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+    }
+
+    @Test
+    @DisplayName("Should reject fuzzy search text over the search query length limit")
+    void testFuzzySearchTooLong() throws Exception {
+        String tooLong = "a".repeat(TodoService.MAX_SEARCH_QUERY_LENGTH + 1);
+
+        mockMvc.perform(get("/api/todos")
+                        .param("search", tooLong)
+                        .param("searchMode", "FUZZY")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/todos")
+                        .param("search", tooLong)
+                        .param("searchMode", "FUZZY")
+                        .param("limit", "10")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/todos")
+                        .param("search", tooLong)
+                        .param("searchMode", "FUZZY")
+                        .param("stream", "true")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+
+        // Contains mode is a plain LIKE and keeps accepting it
+        mockMvc.perform(get("/api/todos")
+                        .param("search", tooLong)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should match LIKE wildcards in search text literally")
+    void testSearchEscapesWildcards() throws Exception {
+        saveTodo(testUser, "Reach 100% coverage", null, false);
+        saveTodo(testUser, "Rename snake_case fields", null, false);
+        saveTodo(testUser, "Fix C:\\temp path", null, false);
+        saveTodo(testUser, "Reach 1000 users", null, false);
+
+        mockMvc.perform(get("/api/todos")
+                        .param("search", "100%")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Reach 100% coverage")));
+
+        mockMvc.perform(get("/api/todos")
+                        .param("search", "_")
+                        .param("limit", "10")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Rename snake_case fields")));
+
+        mockMvc.perform(get("/api/todos")
+                        .param("search", "\\")
+                        .param("stream", "true")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Fix C:\\temp path")));
+    }
+
+    @Test
+    @DisplayName("Should suggest titles and categories by normalized prefix")
+    void testSuggest() throws Exception {
+        saveTodo(testUser, "Café order", null, false);
+        saveTodo(testUser, "Call mom", null, false);
+        saveTodo(testUser, "call mom", null, true);
+
+        mockMvc.perform(get("/api/todos/suggest")
+                        .param("prefix", "CA")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.titles", contains("Café order", "Call mom")))
+                .andExpect(jsonPath("$.categories", hasSize(0)));
+
+        mockMvc.perform(get("/api/todos/suggest")
+                        .param("prefix", "wo")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories", contains("Work")));
+
+        mockMvc.perform(get("/api/todos/suggest")
+                        .param("prefix", "cafe o")
+                        .param("limit", "1")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.titles", contains("Café order")));
+
+        mockMvc.perform(get("/api/todos/suggest")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should list categories from the dictionary and rename or merge them")
+    void testCategoryRenameAndMerge() throws Exception {
+        for (String category : new String[]{"Home", "Home", "House"}) {
+            TodoRequestDTO newTodo = new TodoRequestDTO();
+            newTodo.setTitle("Chore in " + category);
+            newTodo.setCategory(category);
+            mockMvc.perform(post("/api/todos")
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(newTodo)))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/todos/categories")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", contains("Home", "House", "Work")));
+
+        // Merge: House already has a counterpart
+        mockMvc.perform(post("/api/todos/categories/rename")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"from\": \"House\", \"to\": \"Home\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.todoCount", is(3)));
+
+        // Rename: the todo follows its category row
+        mockMvc.perform(post("/api/todos/categories/rename")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"from\": \"Work\", \"to\": \"Office\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.todoCount", is(1)));
+
+        mockMvc.perform(get("/api/todos/categories")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(jsonPath("$", contains("Home", "Office")));
+        mockMvc.perform(get("/api/todos")
+                        .param("category", "Home")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(jsonPath("$", hasSize(3)));
+        mockMvc.perform(get("/api/todos/" + testTodo.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(jsonPath("$.category", is("Office")));
+
+        mockMvc.perform(post("/api/todos/categories/rename")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"from\": \"Missing\", \"to\": \"Other\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should get todo statistics")
     void testGetStats() throws Exception {
@@ -206,6 +565,265 @@ class TodoControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.total", is(1)))
                 .andExpect(jsonPath("$.active", is(1)))
-                .andExpect(jsonPath("$.completed", is(0)));
+                .andExpect(jsonPath("$.completed", is(0)))
+                .andExpect(jsonPath("$.byPriority.HIGH.total", is(1)))
+                .andExpect(jsonPath("$.byCategory.Work.active", is(1)));
+    }
+
+    @Test
+    @DisplayName("Should return only todos changed or deleted since the sync token")
+    void testDeltaSync() throws Exception {
+        String body = mockMvc.perform(get("/api/todos/changes")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.full", is(true)))
+                .andExpect(jsonPath("$.changed", hasSize(1)))
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("token").asText();
+
+        mockMvc.perform(get("/api/todos/changes")
+                        .param("since", token)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.full", is(false)))
+                .andExpect(jsonPath("$.changed", hasSize(0)))
+                .andExpect(jsonPath("$.deleted", hasSize(0)));
+
+        TodoRequestDTO newTodo = new TodoRequestDTO();
+        newTodo.setTitle("Synced todo");
+        newTodo.setCategory("Work");
+        body = mockMvc.perform(post("/api/todos")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTodo)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long newId = objectMapper.readTree(body).get("id").asLong();
+        mockMvc.perform(delete("/api/todos/" + testTodo.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+
+        body = mockMvc.perform(get("/api/todos/changes")
+                        .param("since", token)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.full", is(false)))
+                .andExpect(jsonPath("$.changed[*].id", contains((int) newId)))
+                .andExpect(jsonPath("$.deleted", contains(testTodo.getId().intValue())))
+                .andReturn().getResponse().getContentAsString();
+        token = objectMapper.readTree(body).get("token").asText();
+
+        // A category rename changes what every todo in the category looks like
+        mockMvc.perform(post("/api/todos/categories/rename")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"from\":\"Work\",\"to\":\"Office\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/todos/changes")
+                        .param("since", token)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[*].category", contains("Office")))
+                .andExpect(jsonPath("$.deleted", hasSize(0)));
+
+        mockMvc.perform(get("/api/todos/changes")
+                        .param("since", "not a token")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should stream the todo list as the same JSON as the buffered list")
+    void testStreamedList() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            saveTodo(testUser, "Streamed todo " + i, i % 2 == 0 ? "even" : null, i % 3 == 0);
+        }
+
+        String buffered = mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String streamed = mockMvc.perform(get("/api/todos")
+                        .param("stream", "true")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$", hasSize(31)))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(
+                objectMapper.readTree(buffered), objectMapper.readTree(streamed));
+
+        mockMvc.perform(get("/api/todos")
+                        .param("stream", "true")
+                        .param("completed", "true")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(10)));
+        mockMvc.perform(get("/api/todos")
+                        .param("stream", "true")
+                        .param("search", "EVEN")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(15)));
+    }
+
+    @Test
+    @DisplayName("Should answer unchanged list, stats and categories with 304 until a mutation")
+    void testConditionalGet() throws Exception {
+        String listTag = mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                .andReturn().getResponse().getHeader("ETag");
+        String statsTag = mockMvc.perform(get("/api/todos/stats")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String categoriesTag = mockMvc.perform(get("/api/todos/categories")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(listTag);
+
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header("If-None-Match", "\"other\", " + listTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", listTag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/todos/stats")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header("If-None-Match", statsTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/todos/categories")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header("If-None-Match", categoriesTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/todos/" + testTodo.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header("If-None-Match", listTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(listTag)))
+                .andExpect(jsonPath("$[0].completed", is(true)));
+        mockMvc.perform(get("/api/todos/stats")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header("If-None-Match", statsTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed", is(1)));
+    }
+
+    @Test
+    @DisplayName("Should keep stats counters in sync with mutations and repair drift")
+    void testStatsCounters() throws Exception {
+        TodoRequestDTO newTodo = new TodoRequestDTO();
+        newTodo.setTitle("Counted Todo");
+        newTodo.setPriority(Todo.Priority.LOW);
+        newTodo.setCategory("Home");
+
+        String body = mockMvc.perform(post("/api/todos")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTodo)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long newId = objectMapper.readTree(body).get("id").asLong();
+
+        mockMvc.perform(patch("/api/todos/" + newId)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/todos/" + testTodo.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+
+        // Counters were seeded on the first write and kept up to date since
+        assertFalse(userTodoCounterRepository.findByUserId(testUser.getId()).isEmpty());
+        mockMvc.perform(get("/api/todos/stats")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.completed", is(1)))
+                .andExpect(jsonPath("$.byPriority.LOW.completed", is(1)))
+                .andExpect(jsonPath("$.byPriority.HIGH.total", is(0)))
+                .andExpect(jsonPath("$.byCategory.Home.total", is(1)))
+                .andExpect(jsonPath("$.byCategory.Work").doesNotExist());
+
+        // Corrupt the counters; reconciliation rewrites them from the todos table
+        userTodoCounterRepository.increment(testUser.getId(), UserTodoCounter.Dimension.TOTAL, "", 5, 0);
+        entityManager.clear();
+        assertEquals(1,
+                todoCounterService.reconcileBatch(List.of(testUser.getId())));
+        assertEquals(0,
+                todoCounterService.reconcileBatch(List.of(testUser.getId())));
+
+        mockMvc.perform(get("/api/todos/stats")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(jsonPath("$.total", is(1)));
+    }
+
+    @Test
+    @DisplayName("Should reject token after logout")
+    void testTokenRejectedAfterLogout() throws Exception {
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should open a change stream with an initial event and heartbeats")
+    void testChangeStream() throws Exception {
+        int before = todoPushService.getConnectionCount();
+        MvcResult result = mockMvc.perform(get("/api/todos/stream")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(before + 1, todoPushService.getConnectionCount());
+
+        // Sent from another thread, which cannot see this test's uncommitted rows: a full, empty sync
+        String events = awaitStreamContent(result, "event:changes");
+        assertTrue(events.contains("\"full\":true"), events);
+        assertTrue(events.contains("id:"), events);
+        // Streaming responses write their headers with the first event
+        assertEquals("no", result.getResponse().getHeader("X-Accel-Buffering"));
+
+        todoPushService.heartbeat();
+        awaitStreamContent(result, ":heartbeat");
+
+        result.getRequest().getAsyncContext().complete();
+        assertEquals(before, todoPushService.getConnectionCount());
+
+        mockMvc.perform(get("/api/todos/stream")
+                        .header("Last-Event-ID", "not a token")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Todo saveTodo(User owner, String title, String description, boolean completed) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setDescription(description);
+        todo.setCompleted(completed);
+        todo.setUser(owner);
+        return todoRepository.save(todo);
+    }
+
+    private String awaitStreamContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+// src/test/java/com/todoapp/controller/TodoStreamTimeoutTest.java
+package com.todoapp.controller;
+
+import com.todoapp.entity.Todo;
+import com.todoapp.entity.User;
+import com.todoapp.repository.TodoRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.security.UserDetailsCache;
+import com.todoapp.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * stream=true with a zero stream timeout, so every streamed list is cut off at its first row
+ */
+@SpringBootTest(properties = "app.http.stream-timeout=0s")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Todo List Stream Timeout Tests")
+class TodoStreamTimeoutTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    private String jwtToken;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+        userDetailsCache.invalidateAll();
+
+        User user = new User("Test User", "test@example.com", passwordEncoder.encode("password123"));
+        user.setRole(User.Role.USER);
+        user.setIsActive(true);
+        user = userRepository.save(user);
+        jwtToken = jwtUtil.generateToken(new org.springframework.security.core.userdetails.User(
+                user.getEmail(), user.getPassword(), List.of(new SimpleGrantedAuthority(user.getRole().getAuthority()))));
+
+        Todo todo = new Todo();
+        todo.setTitle("Test Todo");
+        todo.setCompleted(false);
+        todo.setPriority(Todo.Priority.HIGH);
+        todo.setUser(user);
+        todoRepository.save(todo);
+    }
+
+    @Test
+    @DisplayName("Should cut off a streamed list that runs past the stream timeout")
+    void testStreamTimeout() throws Exception {
+        // Nothing was written yet, so the client gets an error instead of a truncated array
+        mockMvc.perform(get("/api/todos")
+                        .param("stream", "true")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message", containsString("stream exceeded")));
+
+        // The buffered list is not affected
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+}
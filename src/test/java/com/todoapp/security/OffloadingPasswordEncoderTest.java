@@ -0,0 +1,135 @@
+// src/test/java/com/todoapp/security/OffloadingPasswordEncoderTest.java
+package com.todoapp.security;
+
+import com.todoapp.dto.ErrorResponse;
+import com.todoapp.exception.GlobalExceptionHandler;
+import com.todoapp.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OffloadingPasswordEncoder Tests")
+class OffloadingPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private OffloadingPasswordEncoder encoder;
+
+    /**
+     * Blocks until released and, like BCrypt, ignores interrupts while it works
+     */
+    private final PasswordEncoder blockingDelegate = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hash and verify on the worker pool")
+    void testEncodeAndMatches() {
+        encoder = new OffloadingPasswordEncoder(new BCryptPasswordEncoder(4), 1, 0,
+                Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        String hash = encoder.encode("Password123!");
+        assertTrue(encoder.matches("Password123!", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertTrue(new OffloadingPasswordEncoder(new BCryptPasswordEncoder(10), 1, 0,
+                Duration.ofSeconds(5), new SimpleMeterRegistry()).upgradeEncoding(hash));
+    }
+
+    @Test
+    @DisplayName("Should reject with 503 when the only worker is busy and there is no queue")
+    void testSaturatedPoolRejected() throws Exception {
+        encoder = new OffloadingPasswordEncoder(blockingDelegate, 1, 0,
+                Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        PasswordHashingUnavailableException rejected =
+                assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("second"));
+
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler()
+                .handlePasswordHashingUnavailableException(rejected, new MockHttpServletRequest());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        release.countDown();
+        assertEquals("hash:first", first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should time out the caller while the running hash keeps its worker")
+    void testTimeoutKeepsWorkerBusy() throws Exception {
+        encoder = new OffloadingPasswordEncoder(blockingDelegate, 1, 0,
+                Duration.ofMillis(100), new SimpleMeterRegistry());
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("slow"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // The interrupt from cancel(true) is ignored, so the worker is still taken
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("next"));
+    }
+
+    @Test
+    @DisplayName("Should free the slot of a queued hash whose caller timed out")
+    void testTimedOutQueuedHashDropped() throws Exception {
+        encoder = new OffloadingPasswordEncoder(blockingDelegate, 1, 1,
+                Duration.ofMillis(100), new SimpleMeterRegistry());
+
+        // Its caller times out as well, but the hash keeps the worker until released
+        CompletableFuture.runAsync(() -> encoder.encode("running"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Waits in the queue behind the running hash, then gives up
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("queued"));
+
+        // Its slot is free again, so the next hash is queued (and times out) rather than rejected
+        PasswordHashingUnavailableException next =
+                assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("next"));
+        assertInstanceOf(TimeoutException.class, next.getCause());
+    }
+}
@@ -0,0 +1,116 @@
+// src/test/java/com/todoapp/security/TokenDenylistTest.java
+package com.todoapp.security;
+
+import com.todoapp.entity.RevokedToken;
+import com.todoapp.repository.RevokedTokenRepository;
+import com.todoapp.util.BloomFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenDenylist Tests")
+class TokenDenylistTest {
+
+    private static final long TICK_MS = 20;
+    private static final long JWT_EXPIRATION_MS = 1000;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenDenylist denylist(long expectedEntries, boolean persistent) {
+        return new TokenDenylist(revokedTokenRepository, persistent, TICK_MS, expectedEntries,
+                JWT_EXPIRATION_MS, new SimpleMeterRegistry());
+    }
+
+    private static Date inMillis(long millis) {
+        return new Date(System.currentTimeMillis() + millis);
+    }
+
+    @Test
+    @DisplayName("Should report a revoked token id until the token expires")
+    void testRevoke() {
+        TokenDenylist denylist = denylist(1000, false);
+        denylist.revoke("revoked-jti", inMillis(60_000));
+
+        assertTrue(denylist.isRevoked("revoked-jti"));
+        assertFalse(denylist.isRevoked("other-jti"));
+        assertFalse(denylist.isRevoked(null));
+        assertEquals(1, denylist.size());
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should ignore tokens that have already expired")
+    void testRevokeExpired() {
+        TokenDenylist denylist = denylist(1000, false);
+        denylist.revoke("expired-jti", inMillis(-1000));
+
+        assertFalse(denylist.isRevoked("expired-jti"));
+        assertEquals(0, denylist.size());
+    }
+
+    @Test
+    @DisplayName("Should drop entries from the timing wheel once their tokens expire")
+    void testExpire() throws InterruptedException {
+        TokenDenylist denylist = denylist(1000, false);
+        denylist.revoke("short-jti", inMillis(100));
+        denylist.revoke("long-jti", inMillis(60_000));
+
+        // Nothing has expired yet
+        denylist.expire();
+        assertEquals(2, denylist.size());
+
+        // Past the expiry and the tick after it
+        Thread.sleep(100 + 3 * TICK_MS);
+        assertFalse(denylist.isRevoked("short-jti"));
+        denylist.expire();
+
+        assertEquals(1, denylist.size());
+        assertTrue(denylist.isRevoked("long-jti"));
+    }
+
+    @Test
+    @DisplayName("Should check the exact set when the Bloom filter reports a false positive")
+    void testBloomFalsePositive() {
+        // A filter sized for one entry is saturated by a few hundred, so most probes pass it
+        TokenDenylist denylist = denylist(1, false);
+        BloomFilter mirror = new BloomFilter(1, 0.01);
+        for (int i = 0; i < 200; i++) {
+            denylist.revoke("revoked-" + i, inMillis(60_000));
+            mirror.put("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 1000; i++) {
+            String probe = "probe-" + i;
+            if (mirror.mightContain(probe)) {
+                falsePositives++;
+            }
+            assertFalse(denylist.isRevoked(probe), probe);
+        }
+        assertTrue(falsePositives > 0, "Expected the saturated filter to pass some probes");
+        assertTrue(denylist.isRevoked("revoked-0"));
+    }
+
+    @Test
+    @DisplayName("Should persist revocations when configured to")
+    void testPersistent() {
+        TokenDenylist denylist = denylist(1000, true);
+        denylist.revoke("persisted-jti", inMillis(60_000));
+
+        assertTrue(denylist.isRevoked("persisted-jti"));
+        verify(revokedTokenRepository, times(1)).save(any(RevokedToken.class));
+    }
+}
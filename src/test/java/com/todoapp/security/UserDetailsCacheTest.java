@@ -0,0 +1,87 @@
+// src/test/java/com/todoapp/security/UserDetailsCacheTest.java
+package com.todoapp.security;
+
+import com.todoapp.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UserDetailsCache Tests")
+class UserDetailsCacheTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    private UserDetailsCache cache;
+
+    // Token version of the committed users row, as the loader would read it
+    private final AtomicInteger committedVersion = new AtomicInteger();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, AuthenticatedUser> loader = email -> {
+        loads.incrementAndGet();
+        return new AuthenticatedUser(1L, email, "hash", User.Role.USER, true, committedVersion.get());
+    };
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserDetailsCache(100, Duration.ofMinutes(15), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load a principal once and hand out copies")
+    void testCachesCopies() {
+        AuthenticatedUser first = cache.get(EMAIL, loader);
+        first.eraseCredentials();
+
+        AuthenticatedUser second = cache.get(EMAIL, loader);
+        assertEquals(1, loads.get());
+        assertEquals("hash", second.getPassword());
+    }
+
+    @Test
+    @DisplayName("Should evict again after commit, dropping a principal re-cached before the commit")
+    void testInvalidateAfterCommit() {
+        assertEquals(0, cache.get(EMAIL, loader).getTokenVersion());
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate(EMAIL);
+
+        // A concurrent request reloads before the commit and caches the old row
+        assertEquals(0, cache.get(EMAIL, loader).getTokenVersion());
+        assertEquals(2, loads.get());
+
+        committedVersion.set(1);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(1, cache.get(EMAIL, loader).getTokenVersion());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should evict immediately outside a transaction")
+    void testInvalidateWithoutTransaction() {
+        cache.get(EMAIL, loader);
+        committedVersion.set(1);
+        cache.invalidate(EMAIL);
+
+        assertEquals(1, cache.get(EMAIL, loader).getTokenVersion());
+        assertEquals(2, loads.get());
+    }
+}
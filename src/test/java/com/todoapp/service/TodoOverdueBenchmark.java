@@ -0,0 +1,136 @@
+// src/test/java/com/todoapp/service/TodoOverdueBenchmark.java
+package com.todoapp.service;
+
+import com.todoapp.TodoAppApplication;
+import com.todoapp.dto.TodoPageDTO;
+import com.todoapp.dto.TodoResponseDTO;
+import com.todoapp.entity.Todo;
+import com.todoapp.entity.User;
+import com.todoapp.repository.TodoRepository;
+import com.todoapp.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * JMH benchmark for the overdue endpoint against an in-memory H2 database.
+ * The user has a fixed number of open overdue todos and a growing completed history;
+ * the index-backed page and count should stay flat while the old load-and-filter grows.
+ * Run the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoOverdueBenchmark {
+
+    private static final int OVERDUE_COUNT = 100;
+
+    @Param({"1000", "10000", "100000"})
+    private int completedHistory;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private TodoRepository todoRepository;
+    private TransactionTemplate readWriteTransaction;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        // Command-line arguments, so they take precedence over application.yml
+        context = new SpringApplicationBuilder(TodoAppApplication.class)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:overdue;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--server.port=0",
+                        "--jwt.secret=benchmarkSecretKey1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOP",
+                        "--logging.level.root=WARN"
+                );
+
+        todoService = context.getBean(TodoService.class);
+        todoRepository = context.getBean(TodoRepository.class);
+        readWriteTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        User user = new User();
+        user.setName("Bench User");
+        user.setEmail("bench@example.com");
+        user.setPassword("not-a-real-hash");
+        user.setRole(User.Role.USER);
+        user.setIsActive(true);
+        user = context.getBean(UserRepository.class).save(user);
+        userId = user.getId();
+
+        // Bulk insert with JDBC; going through JPA would dominate setup time
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < completedHistory + OVERDUE_COUNT; i++) {
+            boolean completed = i >= OVERDUE_COUNT;
+            Timestamp dueDate = Timestamp.valueOf(LocalDateTime.now().minusHours(i + 1));
+            rows.add(new Object[]{"Todo " + i, completed, Todo.Priority.values()[i % 3].name(),
+                    dueDate, now, now, userId});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "INSERT INTO todos (title, completed, priority, due_date, created_at, updated_at, user_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Previous overdue path: every todo loaded as an entity and filtered with isOverdue()
+     */
+    @Benchmark
+    public List<TodoResponseDTO> legacyLoadAndFilter() {
+        return readWriteTransaction.execute(status ->
+                todoRepository.findByUserId(userId).stream()
+                        .filter(Todo::isOverdue)
+                        .map(TodoResponseDTO::new)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * First page (50) of overdue todos from the overdue index
+     */
+    @Benchmark
+    public TodoPageDTO overduePage() {
+        return todoService.getUserOverdueTodosPage(userId, null, null);
+    }
+
+    /**
+     * Overdue count from the overdue index
+     */
+    @Benchmark
+    public long overdueCount() {
+        return todoService.countUserOverdueTodos(userId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TodoOverdueBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
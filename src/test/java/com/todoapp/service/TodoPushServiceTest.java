@@ -0,0 +1,228 @@
+// src/test/java/com/todoapp/service/TodoPushServiceTest.java
+package com.todoapp.service;
+
+import com.todoapp.dto.TodoChangesDTO;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.util.SyncToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TodoPushService Tests")
+class TodoPushServiceTest {
+
+    private static final long STUCK_USER = 1L;
+    private static final int READER_THREADS = 2;
+    private static final int WRITER_THREADS = 8;
+    private static final int WRITER_QUEUE_CAPACITY = 4;
+
+    @Mock
+    private TodoSyncService todoSyncService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong version = new AtomicLong();
+    private final CountDownLatch releaseWrites = new CountDownLatch(1);
+    private volatile boolean nextStuck;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TodoPushService pushService;
+
+    /**
+     * Records events; the stuck user's sends block while holding the monitor, like a blocking
+     * socket write to a client that stopped reading
+     */
+    private final class TestEmitter extends SseEmitter {
+
+        private final boolean stuck;
+        private final CountDownLatch writeStarted = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile int events;
+
+        TestEmitter(boolean stuck) {
+            this.stuck = stuck;
+        }
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            writeStarted.countDown();
+            if (stuck) {
+                try {
+                    releaseWrites.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Write timed out");
+            }
+            events++;
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Two reader threads, fewer than the stuck clients some tests open
+        pushService = new TodoPushService(todoSyncService, userRepository, 100, 5, Duration.ofMinutes(30),
+                Duration.ofMillis(50), 1000, READER_THREADS, WRITER_THREADS, WRITER_QUEUE_CAPACITY, meterRegistry) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                return new TestEmitter(nextStuck);
+            }
+        };
+        lenient().when(todoSyncService.getChanges(anyLong(), any())).thenAnswer(invocation ->
+                new TodoChangesDTO(List.of(), List.of(), new SyncToken(version.get(), Instant.now()).encode(), true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseWrites.countDown();
+        pushService.closeAll();
+    }
+
+    private TestEmitter open(long userId, boolean stuck) {
+        nextStuck = stuck;
+        return (TestEmitter) pushService.connect(userId, null).orElseThrow();
+    }
+
+    private static void awaitEvents(TestEmitter emitter, int events) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.events < events && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(emitter.events >= events, "Expected " + events + " events, got " + emitter.events);
+    }
+
+    @Test
+    @DisplayName("Should keep pushing to other users while a client never reads")
+    void testStuckClientDoesNotStallOthers() throws Exception {
+        TestEmitter stuck = open(STUCK_USER, true);
+        assertTrue(stuck.writeStarted.await(5, TimeUnit.SECONDS));
+
+        TestEmitter first = open(2L, false);
+        TestEmitter second = open(3L, false);
+        awaitEvents(first, 1);
+        awaitEvents(second, 1);
+
+        for (int i = 1; i <= 5; i++) {
+            version.set(i);
+            pushService.publish(STUCK_USER);
+            pushService.publish(2L);
+            pushService.publish(3L);
+            awaitEvents(first, 1 + i);
+            awaitEvents(second, 1 + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep pushing while more clients are stuck than there are reader threads")
+    void testManyStuckClientsDoNotStallOthers() throws Exception {
+        int stuckClients = READER_THREADS * 3;
+        List<TestEmitter> stuck = new ArrayList<>();
+        for (int i = 0; i < stuckClients; i++) {
+            stuck.add(open(100L + i, true));
+        }
+        for (TestEmitter emitter : stuck) {
+            assertTrue(emitter.writeStarted.await(5, TimeUnit.SECONDS));
+        }
+        // Each stuck write holds a writer, none of the shared readers
+        assertEquals(stuckClients, pushService.getActiveWriteCount());
+
+        TestEmitter healthy = open(2L, false);
+        awaitEvents(healthy, 1);
+        for (int i = 1; i <= 5; i++) {
+            version.set(i);
+            for (int j = 0; j < stuckClients; j++) {
+                pushService.publish(100L + j);
+            }
+            pushService.publish(2L);
+            awaitEvents(healthy, 1 + i);
+        }
+
+        // Failed writes release their writers and complete the stuck streams
+        releaseWrites.countDown();
+        for (TestEmitter emitter : stuck) {
+            assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, pushService.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Should drop a stuck client without waiting on its emitter")
+    void testStuckClientDropped() throws Exception {
+        TestEmitter stuck = open(STUCK_USER, true);
+        assertTrue(stuck.writeStarted.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        // The heartbeat must not block on the monitor the stuck send holds
+        lenient().when(userRepository.findTodosVersionsByIds(any())).thenReturn(List.of());
+        Thread heartbeat = new Thread(pushService::heartbeat);
+        heartbeat.start();
+        heartbeat.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(heartbeat.isAlive());
+
+        assertEquals(0, pushService.getConnectionCount());
+        assertEquals(1.0, meterRegistry.counter("todo.push.slow.clients").count());
+        assertEquals(1, stuck.completed.getCount());
+
+        // Once the write times out, the sender completes the emitter
+        releaseWrites.countDown();
+        assertTrue(stuck.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should cap writer threads and close streams it cannot write to")
+    void testWriterThreadsBounded() throws Exception {
+        int stuckClients = WRITER_THREADS + WRITER_QUEUE_CAPACITY + 10;
+        List<TestEmitter> stuck = new ArrayList<>();
+        for (int i = 0; i < stuckClients; i++) {
+            stuck.add(open(100L + i, true));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((pushService.getConnectionCount() > WRITER_THREADS + WRITER_QUEUE_CAPACITY
+                || pushService.getActiveWriteCount() < WRITER_THREADS) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Writes beyond the pool and its queue close their streams instead of starting threads
+        assertEquals(WRITER_THREADS + WRITER_QUEUE_CAPACITY, pushService.getConnectionCount());
+        assertEquals(10.0, meterRegistry.counter("todo.push.slow.clients").count());
+        assertEquals(WRITER_THREADS, pushService.getActiveWriteCount());
+
+        // Heartbeats to the busy streams start no writes either
+        lenient().when(userRepository.findTodosVersionsByIds(any())).thenReturn(List.of());
+        pushService.heartbeat();
+        assertTrue(pushService.getLargestWriterPoolSize() <= WRITER_THREADS);
+
+        releaseWrites.countDown();
+        for (TestEmitter emitter : stuck) {
+            assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+        }
+        assertTrue(pushService.getLargestWriterPoolSize() <= WRITER_THREADS);
+    }
+}
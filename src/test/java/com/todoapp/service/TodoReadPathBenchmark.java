@@ -0,0 +1,132 @@
+// src/test/java/com/todoapp/service/TodoReadPathBenchmark.java
+package com.todoapp.service;
+
+import com.todoapp.TodoAppApplication;
+import com.todoapp.dto.TodoResponseDTO;
+import com.todoapp.entity.Category;
+import com.todoapp.entity.Todo;
+import com.todoapp.entity.User;
+import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.TodoRepository;
+import com.todoapp.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * JMH benchmark for the GET /api/todos read path against an in-memory H2 database.
+ * Compares the old flow (managed entities in a read-write transaction, copied into DTOs)
+ * with the projection flow (DTOs built by the query in a read-only transaction).
+ * Run the main method from the test classpath; the GC profiler reports
+ * gc.alloc.rate.norm (bytes allocated per operation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoReadPathBenchmark {
+
+    private static final int TODO_COUNT = 500;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private TodoRepository todoRepository;
+    private TransactionTemplate readWriteTransaction;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        // Command-line arguments, so they take precedence over application.yml
+        context = new SpringApplicationBuilder(TodoAppApplication.class)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:readpath;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--server.port=0",
+                        "--jwt.secret=benchmarkSecretKey1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOP",
+                        "--logging.level.root=WARN"
+                );
+
+        todoService = context.getBean(TodoService.class);
+        todoRepository = context.getBean(TodoRepository.class);
+        readWriteTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        User user = new User();
+        user.setName("Bench User");
+        user.setEmail("bench@example.com");
+        user.setPassword("not-a-real-hash");
+        user.setRole(User.Role.USER);
+        user.setIsActive(true);
+        user = context.getBean(UserRepository.class).save(user);
+        userId = user.getId();
+
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Category category = new Category(userId, "Category " + i);
+            category.setTodoCount(TODO_COUNT / 10);
+            categories.add(categoryRepository.save(category));
+        }
+
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < TODO_COUNT; i++) {
+            Todo todo = new Todo();
+            todo.setTitle("Todo " + i);
+            todo.setDescription("Description for todo number " + i);
+            todo.setPriority(Todo.Priority.values()[i % 3]);
+            todo.setCategory(categories.get(i % 10));
+            todo.setUser(user);
+            todos.add(todo);
+        }
+        todoRepository.saveAll(todos);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Previous read path: managed entities (with dirty-check snapshots) copied into DTOs
+     */
+    @Benchmark
+    public List<TodoResponseDTO> entityReadPath() {
+        return readWriteTransaction.execute(status ->
+                todoRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                        .map(TodoResponseDTO::new)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Current read path: DTO projection in a read-only transaction
+     */
+    @Benchmark
+    public List<TodoResponseDTO> projectionReadPath() {
+        return todoService.getUserTodos(userId, null, null, null, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TodoReadPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
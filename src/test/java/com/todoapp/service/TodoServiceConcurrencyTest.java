@@ -0,0 +1,130 @@
+// src/test/java/com/todoapp/service/TodoServiceConcurrencyTest.java
+package com.todoapp.service;
+
+import com.todoapp.dto.TodoRequestDTO;
+import com.todoapp.dto.TodoStatsDTO;
+import com.todoapp.entity.Category;
+import com.todoapp.entity.Todo;
+import com.todoapp.entity.User;
+import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.TodoRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.repository.UserTodoCounterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent mutations of one todo, each in its own committed transaction. Counter and
+ * category deltas come from the todo's before-image, so they only add up if mutations of
+ * the same user are serialized before that image is read.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("TodoService Concurrency Tests")
+class TodoServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserTodoCounterRepository userTodoCounterRepository;
+
+    private Long userId;
+    private Long todoId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User("John Doe", "concurrency@example.com", "password-hash");
+        userId = userRepository.save(user).getId();
+        todoId = todoService.createTodoForUser(userId,
+                new TodoRequestDTO("Report", null, false, Todo.Priority.HIGH, "Work", null)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        todoRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userTodoCounterRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private static void runConcurrently(IntConsumer task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CyclicBarrier start = new CyclicBarrier(THREADS);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.accept(index);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should count each concurrent toggle of the same todo once")
+    void testConcurrentToggles() throws Exception {
+        runConcurrently(index -> todoService.toggleUserTodoCompletion(userId, todoId));
+
+        // An even number of toggles leaves the todo open, and the counters must agree
+        Todo todo = todoRepository.findById(todoId).orElseThrow();
+        assertFalse(todo.getCompleted());
+
+        TodoStatsDTO stats = todoService.getUserTodoStats(userId);
+        assertEquals(1, stats.getTotal());
+        assertEquals(0, stats.getCompleted());
+        assertEquals(0, stats.getByPriority().get("HIGH").getCompleted());
+    }
+
+    @Test
+    @DisplayName("Should move a todo between categories once per concurrent edit")
+    void testConcurrentCategoryEdits() throws Exception {
+        runConcurrently(index -> todoService.updateUserTodo(userId, todoId, new TodoRequestDTO(
+                "Report", null, null, Todo.Priority.HIGH, index % 2 == 0 ? "Home" : "Work", null)));
+
+        String category = todoService.getUserTodoById(userId, todoId).orElseThrow().getCategory();
+        for (Category row : categoryRepository.findAll()) {
+            assertEquals(row.getName().equals(category) ? 1 : 0, row.getTodoCount(), row.getName());
+        }
+
+        TodoStatsDTO stats = todoService.getUserTodoStats(userId);
+        assertEquals(1, stats.getByCategory().get(category).getTotal());
+        stats.getByCategory().forEach((name, breakdown) ->
+                assertEquals(name.equals(category) ? 1 : 0, breakdown.getTotal(), name));
+    }
+}
@@ -3,6 +3,8 @@ package com.todoapp.service;
 
 import com.todoapp.dto.TodoRequestDTO;
 import com.todoapp.dto.TodoResponseDTO;
+import com.todoapp.dto.TodoStatsDTO;
+import com.todoapp.entity.Category;
 import com.todoapp.entity.Todo;
 import com.todoapp.entity.User;
 import com.todoapp.repository.TodoRepository;
@@ -35,6 +37,21 @@ class TodoServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TodoCounterService todoCounterService;
+
+    @Mock
+    private TodoSuggestService todoSuggestService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private TodoSyncService todoSyncService;
+
+    @Mock
+    private TodoPushService todoPushService;
+
     @InjectMocks
     private TodoService todoService;
 
@@ -58,7 +75,7 @@ class TodoServiceTest {
         testTodo.setDescription("Test Description");
         testTodo.setCompleted(false);
         testTodo.setPriority(Todo.Priority.HIGH);
-        testTodo.setCategory("Work");
+        testTodo.setCategory(new Category(1L, "Work"));
         testTodo.setUser(testUser);
         testTodo.setCreatedAt(LocalDateTime.now());
         testTodo.setUpdatedAt(LocalDateTime.now());
@@ -75,8 +92,8 @@ class TodoServiceTest {
     @DisplayName("Should get user todos successfully")
     void testGetUserTodos() {
         // Given
-        List<Todo> todos = Arrays.asList(testTodo);
-        when(todoRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(todos);
+        List<TodoResponseDTO> todos = Arrays.asList(new TodoResponseDTO(testTodo));
+        when(todoRepository.findResponsesByUserId(1L)).thenReturn(todos);
 
         // When
         List<TodoResponseDTO> result = todoService.getUserTodos(1L, null, null, null, null);
@@ -85,14 +102,14 @@ class TodoServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Test Todo", result.get(0).getTitle());
-        verify(todoRepository, times(1)).findByUserIdOrderByCreatedAtDesc(1L);
+        verify(todoRepository, times(1)).findResponsesByUserId(1L);
     }
 
     @Test
     @DisplayName("Should get todo by id successfully")
     void testGetUserTodoById() {
         // Given
-        when(todoRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTodo));
+        when(todoRepository.findResponseByIdAndUserId(1L, 1L)).thenReturn(Optional.of(new TodoResponseDTO(testTodo)));
 
         // When
         Optional<TodoResponseDTO> result = todoService.getUserTodoById(1L, 1L);
@@ -100,7 +117,7 @@ class TodoServiceTest {
         // Then
         assertTrue(result.isPresent());
         assertEquals("Test Todo", result.get().getTitle());
-        verify(todoRepository, times(1)).findByIdAndUserId(1L, 1L);
+        verify(todoRepository, times(1)).findResponseByIdAndUserId(1L, 1L);
     }
 
     @Test
@@ -122,7 +139,7 @@ class TodoServiceTest {
     @DisplayName("Should return empty when todo not found")
     void testGetTodoByIdNotFound() {
         // Given
-        when(todoRepository.findByIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.empty());
+        when(todoRepository.findResponseByIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.empty());
 
         // When
         Optional<TodoResponseDTO> result = todoService.getUserTodoById(999L, 1L);
@@ -135,8 +152,8 @@ class TodoServiceTest {
     @DisplayName("Should filter todos by priority")
     void testGetUserTodosWithPriorityFilter() {
         // Given
-        List<Todo> todos = Arrays.asList(testTodo);
-        when(todoRepository.findByUserIdWithFilters(1L, null, Todo.Priority.HIGH, null))
+        List<TodoResponseDTO> todos = Arrays.asList(new TodoResponseDTO(testTodo));
+        when(todoRepository.findResponsesByUserIdWithFilters(1L, null, Todo.Priority.HIGH, null))
                 .thenReturn(todos);
 
         // When
@@ -152,9 +169,8 @@ class TodoServiceTest {
     @DisplayName("Should search todos by title")
     void testSearchTodos() {
         // Given
-        List<Todo> todos = Arrays.asList(testTodo);
-        when(todoRepository.findByUserIdAndTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-                1L, "Test", "Test")).thenReturn(todos);
+        List<TodoResponseDTO> todos = Arrays.asList(new TodoResponseDTO(testTodo));
+        when(todoRepository.searchResponsesByUserId(1L, "%test%")).thenReturn(todos);
 
         // When
         List<TodoResponseDTO> result = todoService.getUserTodos(1L, null, null, null, "Test");
@@ -183,17 +199,25 @@ class TodoServiceTest {
     @DisplayName("Should get user statistics")
     void testGetUserTodoStats() {
         // Given
-        List<Todo> todos = Arrays.asList(testTodo);
-        when(todoRepository.findByUserId(1L)).thenReturn(todos);
+        List<Object[]> rows = Arrays.asList(
+                new Object[]{Todo.Priority.HIGH, "Work", 1L, 0L, 0L},
+                new Object[]{Todo.Priority.LOW, null, 2L, 1L, 1L}
+        );
+        when(todoRepository.aggregateStatsByUserId(eq(1L), any(LocalDateTime.class))).thenReturn(rows);
 
         // When
         var stats = todoService.getUserTodoStats(1L);
 
         // Then
         assertNotNull(stats);
-        assertEquals(1, stats.getTotal());
-        assertEquals(0, stats.getCompleted());
-        assertEquals(1, stats.getActive());
+        assertEquals(3, stats.getTotal());
+        assertEquals(1, stats.getCompleted());
+        assertEquals(2, stats.getActive());
+        assertEquals(1, stats.getOverdue());
+        assertEquals(1, stats.getByPriority().get("HIGH").getTotal());
+        assertEquals(0, stats.getByPriority().get("MEDIUM").getTotal());
+        assertEquals(1, stats.getByCategory().get("Work").getActive());
+        assertEquals(1, stats.getByCategory().get(TodoStatsDTO.UNCATEGORIZED).getOverdue());
     }
 
     @Test
@@ -231,6 +255,7 @@ class TodoServiceTest {
     void testDeleteUserTodo() {
         // Given
         when(todoRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTodo));
+        when(userRepository.findTodosVersionById(1L)).thenReturn(Optional.of(7L));
 
         // When
         boolean result = todoService.deleteUserTodo(1L, 1L);
@@ -238,5 +263,8 @@ class TodoServiceTest {
         // Then
         assertTrue(result);
         verify(todoRepository, times(1)).delete(any(Todo.class));
+        verify(userRepository, times(1)).incrementTodosVersion(1L);
+        verify(todoSyncService, times(1)).recordDeleted(1L, List.of(testTodo), 7L);
+        verify(todoPushService, times(1)).publishAfterCommit(1L);
     }
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+// src/test/java/com/todoapp/service/TodoStreamingBenchmark.java
+package com.todoapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todoapp.TodoAppApplication;
+import com.todoapp.dto.TodoResponseDTO;
+import com.todoapp.entity.Category;
+import com.todoapp.entity.Todo;
+import com.todoapp.entity.User;
+import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.TodoRepository;
+import com.todoapp.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for GET /api/todos at 50k todos for one user, against an in-memory H2 database.
+ * Compares the buffered response (a list of DTOs serialized as one body) with the streamed
+ * response (DTOs read through a JDBC cursor and written to the output one by one).
+ * Output goes to a null stream, so only reading and serialization are measured.
+ * Run the main method from the test classpath. Besides time per list, the GC profiler reports
+ * gc.alloc.rate.norm; the buffered path also keeps the whole list live until it is written,
+ * while the streamed path holds one fetch of rows and the writer's buffer at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TodoStreamingBenchmark {
+
+    private static final int TODO_COUNT = 50_000;
+    private static final int INSERT_BATCH = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private ObjectWriter listWriter;
+    private ObjectWriter elementWriter;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        // Command-line arguments, so they take precedence over application.yml
+        context = new SpringApplicationBuilder(TodoAppApplication.class)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:streaming;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--server.port=0",
+                        "--jwt.secret=benchmarkSecretKey1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOP",
+                        "--logging.level.root=WARN"
+                );
+
+        todoService = context.getBean(TodoService.class);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        listWriter = objectMapper.writer();
+        // Same writer configuration as TodoController
+        elementWriter = objectMapper.writerFor(TodoResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        User user = new User();
+        user.setName("Bench User");
+        user.setEmail("bench@example.com");
+        user.setPassword("not-a-real-hash");
+        user.setRole(User.Role.USER);
+        user.setIsActive(true);
+        user = context.getBean(UserRepository.class).save(user);
+        userId = user.getId();
+
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Category category = new Category(userId, "Category " + i);
+            category.setTodoCount(TODO_COUNT / 10);
+            categories.add(categoryRepository.save(category));
+        }
+
+        TodoRepository todoRepository = context.getBean(TodoRepository.class);
+        List<Todo> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < TODO_COUNT; i++) {
+            Todo todo = new Todo();
+            todo.setTitle("Todo " + i);
+            todo.setDescription("Description for todo number " + i);
+            todo.setPriority(Todo.Priority.values()[i % 3]);
+            todo.setCategory(categories.get(i % 10));
+            todo.setUser(user);
+            batch.add(todo);
+            if (batch.size() == INSERT_BATCH) {
+                todoRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        todoRepository.saveAll(batch);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Buffered response: List of DTOs, then the whole body
+     */
+    @Benchmark
+    public void bufferedList() throws IOException {
+        List<TodoResponseDTO> todos = todoService.getUserTodos(userId, null, null, null, null);
+        listWriter.writeValue(OutputStream.nullOutputStream(), todos);
+    }
+
+    /**
+     * Streamed response: each DTO written as it is read
+     */
+    @Benchmark
+    public void streamedList() throws IOException {
+        SequenceWriter array = elementWriter.writeValuesAsArray(OutputStream.nullOutputStream());
+        todoService.streamUserTodos(userId, null, null, null, null, TodoService.SearchMode.CONTAINS, todo -> {
+            try {
+                array.write(todo);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        array.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TodoStreamingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,125 @@
+// src/test/java/com/todoapp/util/JwtKeyRingTest.java
+package com.todoapp.util;
+
+import com.todoapp.security.TokenValidationResult;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Key rotation through JwtUtil: tokens are signed with the active key and verified with the
+ * key named by their kid header.
+ */
+@DisplayName("JwtKeyRing Tests")
+class JwtKeyRingTest {
+
+    private static final String OLD_SECRET = "oldTestSecretKey1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOP";
+    private static final String NEW_SECRET = "newTestSecretKey1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOP";
+
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        userDetails = new User("test@example.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    private static JwtUtil jwtUtil(String keyId, String secret, String verificationKeys, String legacyKeyId) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtKeyId", keyId);
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", secret);
+        ReflectionTestUtils.setField(jwtUtil, "jwtVerificationKeys", verificationKeys);
+        ReflectionTestUtils.setField(jwtUtil, "jwtLegacyKeyId", legacyKeyId);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 60_000L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private static String keyIdOf(String token) {
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        return header.replaceAll(".*\"kid\":\"([^\"]*)\".*", "$1");
+    }
+
+    private static String legacyToken(String secret) {
+        return Jwts.builder()
+                .subject("test@example.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS512)
+                .compact();
+    }
+
+    @Test
+    @DisplayName("Should put the active key id in new tokens")
+    void testNewTokensCarryActiveKeyId() {
+        JwtUtil rotated = jwtUtil("new", NEW_SECRET, "old:" + OLD_SECRET, null);
+
+        assertEquals("new", keyIdOf(rotated.generateToken(userDetails)));
+        assertEquals("new", keyIdOf(rotated.generateRefreshToken(userDetails)));
+    }
+
+    @Test
+    @DisplayName("Should verify a token signed with a retired key")
+    void testRetiredKeyVerifies() {
+        String oldToken = jwtUtil("old", OLD_SECRET, "", null).generateToken(userDetails);
+        JwtUtil rotated = jwtUtil("new", NEW_SECRET, "old:" + OLD_SECRET, null);
+
+        TokenValidationResult result = rotated.verifyToken(oldToken);
+        assertTrue(result.isValid());
+        assertEquals("test@example.com", result.getToken().get().getSubject());
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose key id is not loaded")
+    void testUnknownKeyRejected() {
+        String oldToken = jwtUtil("old", OLD_SECRET, "", null).generateToken(userDetails);
+
+        // The old key was dropped after the rotation
+        JwtUtil rotated = jwtUtil("new", NEW_SECRET, "", null);
+        assertEquals(TokenValidationResult.Status.UNKNOWN_KEY, rotated.verifyToken(oldToken).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should verify a token without a key id with the primary key")
+    void testLegacyTokenUsesPrimaryKey() {
+        JwtUtil jwtUtil = jwtUtil("primary", OLD_SECRET, "", null);
+
+        assertTrue(jwtUtil.verifyToken(legacyToken(OLD_SECRET)).isValid());
+        assertEquals(TokenValidationResult.Status.BAD_SIGNATURE,
+                jwtUtil.verifyToken(legacyToken(NEW_SECRET)).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should verify a token without a key id with the configured legacy key after rotation")
+    void testLegacyTokenUsesLegacyKey() {
+        JwtUtil rotated = jwtUtil("new", NEW_SECRET, "old:" + OLD_SECRET, "old");
+
+        assertTrue(rotated.verifyToken(legacyToken(OLD_SECRET)).isValid());
+        assertEquals(TokenValidationResult.Status.BAD_SIGNATURE,
+                rotated.verifyToken(legacyToken(NEW_SECRET)).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should parse kid:secret pairs and reject bad key configuration")
+    void testKeyConfiguration() {
+        assertEquals(Map.of("a", "secretA", "b", "secretB"), JwtKeyRing.parseKeys("a:secretA, b:secretB"));
+        assertTrue(JwtKeyRing.parseKeys("  ").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> JwtKeyRing.parseKeys("no-secret"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new JwtKeyRing("new", NEW_SECRET, Map.of(), "missing"));
+    }
+}
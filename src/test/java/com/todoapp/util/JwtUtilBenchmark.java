@@ -0,0 +1,166 @@
+// src/test/java/com/todoapp/util/JwtUtilBenchmark.java
+package com.todoapp.util;
+
+import com.todoapp.security.TokenValidationResult;
+import com.todoapp.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the per-request JWT authentication cost.
+ * Compares the old flow (fresh key and parser, four verifications per request)
+ * with the single-parse flow used by JwtAuthenticationFilter.
+ * Run the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET =
+            "benchmarkSecretKey1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOP";
+
+    private static final String NEXT_SECRET =
+            "nextBenchmarkSecretKey1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJ";
+
+    private JwtUtil jwtUtil;
+    private JwtUtil rotatedJwtUtil;
+    private UserDetails userDetails;
+    private String token;
+    private String expiredToken;
+    private String garbageToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 86400000L);
+        jwtUtil.init();
+
+        // Same key demoted to verification-only after a rotation
+        rotatedJwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(rotatedJwtUtil, "jwtSecret", NEXT_SECRET);
+        ReflectionTestUtils.setField(rotatedJwtUtil, "jwtKeyId", "next");
+        ReflectionTestUtils.setField(rotatedJwtUtil, "jwtVerificationKeys", "primary:" + SECRET);
+        ReflectionTestUtils.setField(rotatedJwtUtil, "jwtExpirationMs", 86400000L);
+        rotatedJwtUtil.init();
+
+        userDetails = new User("bench@example.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtUtil.generateToken(userDetails);
+
+        expiredToken = Jwts.builder()
+                .header().keyId("primary").and()
+                .subject("bench@example.com")
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), Jwts.SIG.HS512)
+                .compact();
+
+        // Typical scanner input: a long random string with no token structure
+        garbageToken = "x".repeat(300);
+    }
+
+    /**
+     * Previous filter flow: validateToken, extractUsername, then validateToken(token, user)
+     * which parsed twice more, each time deriving a new key and building a new parser.
+     */
+    @Benchmark
+    public boolean legacyFourParses() {
+        if (legacyParse(token) == null) {
+            return false;
+        }
+        String username = legacyParse(token).getSubject();
+        return username.equals(userDetails.getUsername())
+                && legacyParse(token).getSubject().equals(username)
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    /**
+     * Current filter flow: one verification with the cached key and parser.
+     */
+    @Benchmark
+    public boolean singleParse() {
+        return jwtUtil.parseToken(token)
+                .map(verified -> jwtUtil.validateToken(verified, userDetails))
+                .orElse(false);
+    }
+
+    /**
+     * Single parse of a token signed with a retired key, selected by its kid header.
+     * Should cost the same as singleParse.
+     */
+    @Benchmark
+    public boolean singleParseRetiredKey() {
+        return rotatedJwtUtil.parseToken(token)
+                .map(verified -> rotatedJwtUtil.validateToken(verified, userDetails))
+                .orElse(false);
+    }
+
+    /**
+     * Cost of a single verification with the cached parser.
+     */
+    @Benchmark
+    public VerifiedToken parseOnly() {
+        return jwtUtil.parseToken(token).orElse(null);
+    }
+
+    /**
+     * Expired token: rejected from the payload's exp claim, before signature verification.
+     */
+    @Benchmark
+    public TokenValidationResult rejectExpired() {
+        return jwtUtil.verifyToken(expiredToken);
+    }
+
+    /**
+     * Malformed input: rejected by the segment scan, no decoding or exceptions.
+     */
+    @Benchmark
+    public TokenValidationResult rejectGarbage() {
+        return jwtUtil.verifyToken(garbageToken);
+    }
+
+    /**
+     * Previous handling of an expired token: full verification ending in a thrown exception.
+     */
+    @Benchmark
+    public Object legacyRejectExpired() {
+        try {
+            return legacyParse(expiredToken);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private Claims legacyParse(String jwt) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,145 @@
+// src/test/java/com/todoapp/util/JwtUtilTest.java
+package com.todoapp.util;
+
+import com.todoapp.security.TokenValidationResult;
+import com.todoapp.security.TokenValidationResult.Status;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtUtil Tests")
+class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKey1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUV";
+    private static final String OTHER_SECRET = "otherSecretKey1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRS";
+
+    // Any well-formed segment; the checks under test reject the token before it is verified
+    private static final String SIGNATURE = "c2lnbmF0dXJl";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtKeyId", "primary");
+        ReflectionTestUtils.setField(jwtUtil, "jwtVerificationKeys", "");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 60_000L);
+        jwtUtil.init();
+    }
+
+    private static String segment(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long secondsFromNow(long seconds) {
+        return System.currentTimeMillis() / 1000 + seconds;
+    }
+
+    private static String token(String header, String payload) {
+        return segment(header) + "." + segment(payload) + "." + SIGNATURE;
+    }
+
+    private Status statusOf(String token) {
+        TokenValidationResult result = jwtUtil.verifyToken(token);
+        assertFalse(result.isValid());
+        assertTrue(result.getToken().isEmpty());
+        return result.getStatus();
+    }
+
+    @Test
+    @DisplayName("Should accept a token it issued")
+    void testValidToken() {
+        String token = jwtUtil.generateToken(new User("test@example.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        TokenValidationResult result = jwtUtil.verifyToken(token);
+        assertTrue(result.isValid());
+        assertEquals(Status.VALID, result.getStatus());
+        assertEquals("test@example.com", result.getToken().get().getSubject());
+    }
+
+    @Test
+    @DisplayName("Should reject missing and oversize tokens")
+    void testOversize() {
+        assertEquals(Status.MALFORMED, statusOf(null));
+        assertEquals(Status.MALFORMED, statusOf(""));
+
+        String payload = "{\"sub\":\"" + "a".repeat(5000) + "\",\"exp\":" + secondsFromNow(60) + "}";
+        assertEquals(Status.OVERSIZE, statusOf(token("{\"alg\":\"HS512\"}", payload)));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens without exactly three non-empty segments")
+    void testSegmentCount() {
+        String header = segment("{\"alg\":\"HS512\"}");
+        String payload = segment("{\"exp\":" + secondsFromNow(60) + "}");
+
+        assertEquals(Status.MALFORMED, statusOf(header + "." + payload));
+        assertEquals(Status.MALFORMED, statusOf(header + "." + payload + "." + SIGNATURE + "." + SIGNATURE));
+        assertEquals(Status.MALFORMED, statusOf(header + "." + payload + "."));
+        assertEquals(Status.MALFORMED, statusOf(header + ".." + SIGNATURE));
+        assertEquals(Status.MALFORMED, statusOf(header + "." + payload + ".sig+nature"));
+    }
+
+    @Test
+    @DisplayName("Should reject algorithms other than HS512")
+    void testUnsupportedAlgorithm() {
+        String payload = "{\"exp\":" + secondsFromNow(60) + "}";
+
+        assertEquals(Status.UNSUPPORTED_ALGORITHM, statusOf(token("{\"alg\":\"HS256\"}", payload)));
+        assertEquals(Status.UNSUPPORTED_ALGORITHM, statusOf(token("{\"alg\":\"none\"}", payload)));
+        assertEquals(Status.UNSUPPORTED_ALGORITHM, statusOf(token("{\"typ\":\"JWT\"}", payload)));
+    }
+
+    @Test
+    @DisplayName("Should reject key ids that are not loaded")
+    void testUnknownKey() {
+        String payload = "{\"exp\":" + secondsFromNow(60) + "}";
+
+        assertEquals(Status.UNKNOWN_KEY, statusOf(token("{\"alg\":\"HS512\",\"kid\":\"retired\"}", payload)));
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token before checking its signature")
+    void testExpiredBeforeSignature() {
+        // The signature is garbage, so reaching the signature check would report BAD_SIGNATURE
+        String expired = token("{\"alg\":\"HS512\",\"kid\":\"primary\"}",
+                "{\"sub\":\"test@example.com\",\"exp\":" + secondsFromNow(-60) + "}");
+        assertEquals(Status.EXPIRED, statusOf(expired));
+
+        String current = token("{\"alg\":\"HS512\",\"kid\":\"primary\"}",
+                "{\"sub\":\"test@example.com\",\"exp\":" + secondsFromNow(60) + "}");
+        assertEquals(Status.BAD_SIGNATURE, statusOf(current));
+
+        // exp * 1000 would overflow to a negative time; it is far in the future, not expired
+        String farFuture = token("{\"alg\":\"HS512\",\"kid\":\"primary\"}",
+                "{\"sub\":\"test@example.com\",\"exp\":" + (Long.MAX_VALUE / 1000 + 1) + "}");
+        assertEquals(Status.BAD_SIGNATURE, statusOf(farFuture));
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key under a known key id")
+    void testBadSignature() {
+        String forged = Jwts.builder()
+                .header().keyId("primary").and()
+                .subject("test@example.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(OTHER_SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS512)
+                .compact();
+
+        assertEquals(Status.BAD_SIGNATURE, statusOf(forged));
+    }
+}